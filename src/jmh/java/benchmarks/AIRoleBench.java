@@ -0,0 +1,44 @@
+package benchmarks;
+
+import battle.actions.BattleAction;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code decide} is what the engine calls; {@code play} is the object-returning wrapper, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIRoleBench {
+
+    @Param({"BERSERKER", "MAGE", "MAGE_BOOSTER", "MAGE_HEALER", "FIGHTER_HEALER", "FIGHTER_BOOSTER"})
+    public AIRole role;
+
+    private Enemy self;
+    private Player target;
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        self = BattleFixtures.enemy(role);
+        target = BattleFixtures.player();
+    }
+
+    @Benchmark
+    public int decide() {
+        return role.decide(self, target);
+    }
+
+    @Benchmark
+    public BattleAction play() {
+        return role.play(self, target);
+    }
+}
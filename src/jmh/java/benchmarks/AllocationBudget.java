@@ -0,0 +1,272 @@
+package benchmarks;
+
+import battle.BattleEngine;
+import battle.BattleSnapshot;
+import battle.BattleState;
+import battle.BattleSystem;
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import characters.AIRole;
+import characters.Enemy;
+import characters.EnemyFactory;
+import characters.Entity;
+import characters.Player;
+import items.consumables.Consumable;
+import spells.Spell;
+import util.ItemRegistry;
+import util.Rng;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Allocation budget for the engine: plays whole battles against every preset, measures the bytes each
+ * action allocates with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes}, and exits with
+ * status 1 if any action goes over the budget for its {@link Kind}. Not a JMH benchmark: a pass/fail
+ * check for the build ({@code mvn -Pjmh verify} runs it), sitting next to the benchmarks that explain a failure.
+ * <pre>
+ * mvn -Pjmh package && java -cp target/benchmarks.jar benchmarks.AllocationBudget
+ *      --budget attack=0,spell=0,item=64,flee=0,turn=0 --battles 20000 --warmup 20000 --level 5
+ * </pre>
+ * The player cycles attack, a ready spell, a held consumable and (now and then) flee, so every kind is
+ * played against every enemy role.
+ * Warm-up runs in passes of {@code --warmup} battles until a few go by without the JIT compiling
+ * anything: until then escape analysis may not have removed what it will, and a short warm-up failed
+ * actions that allocate nothing once compiled.
+ * Each turn is played for real, then each of its actions is replayed on its own from the turn's start
+ * and filed under its own kind; what the turn allocated besides them is filed under {@link Kind#TURN}.
+ * Each preset's duel is built once and rewound with a {@link BattleSnapshot} between battles: what is
+ * measured is the turn itself, not the per-entity buffers (timing wheels, boost lists) a fresh entity
+ * grows the first time it casts or drinks.
+ */
+public class AllocationBudget {
+
+    /**
+     * What an action is filed under, named as in {@code battle.actions}; TURN is the rest of the turn:
+     * clocks, decisions, order, status ticks.
+     */
+    enum Kind {
+        ATTACK("AttackAction"), FLEE("FleeAction"), SPELL("CastSpellAction"), ITEM("UseItemAction"), TURN("turn");
+
+        final String action;
+
+        Kind(String action) {
+            this.action = action;
+        }
+
+        static Kind of(int code) {
+            if (code == ActionCode.ATTACK) return ATTACK;
+            if (code == ActionCode.FLEE) return FLEE;
+            return ActionCode.isSpell(code) ? SPELL : ITEM;
+        }
+    }
+
+    private static final int MAX_TURNS = 200;
+    private static final int MAX_WARMUP_PASSES = 20;
+    /* Compilation time is counted in whole milliseconds, so one quiet pass can hide a small compile */
+    private static final int IDLE_PASSES = 2;
+    /* One flee attempt in this many turns, so battles mostly run to the end */
+    private static final int FLEE_EVERY = 16;
+
+    private static final class Tally {
+        long turns, bytes, worst;
+        String worstAt = "-";
+
+        void add(long b, String at) {
+            turns++;
+            bytes += b;
+            if (b > worst) {
+                worst = b;
+                worstAt = at;
+            }
+        }
+    }
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long self = Thread.currentThread().threadId();
+    private final Map<Kind, Tally> tallies = new EnumMap<>(Kind.class);
+    private long overhead;
+    private final Consumable[] kit;
+    private long played;
+    private final Map<String, BattleState> duels = new LinkedHashMap<>();
+    private final Map<String, BattleSnapshot> starts = new HashMap<>();
+    private final BattleSnapshot beforeTurn = new BattleSnapshot();
+    private final BattleSnapshot afterTurn = new BattleSnapshot();
+
+    public static void main(String[] args) {
+        Map<String, String> opts = parseArgs(args);
+
+        int battles = Integer.parseInt(opts.getOrDefault("battles", "20000"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "20000"));
+        int level = Integer.parseInt(opts.getOrDefault("level", "5"));
+        Map<Kind, Long> budget = new EnumMap<>(Kind.class);
+        for (String b : opts.getOrDefault("budget", "attack=0,spell=0,item=64,flee=0,turn=0").split(",")) {
+            String[] kv = b.split("=");
+            budget.put(Kind.valueOf(kv[0].trim().toUpperCase()), Long.parseLong(kv[1].trim()));
+        }
+
+        BattleFixtures.loadContent();
+        AllocationBudget harness = new AllocationBudget();
+        harness.setUp(level);
+        harness.warmUp(warmup);
+        harness.run(battles, true);
+        System.exit(harness.report(budget) ? 0 : 1);
+    }
+
+    private AllocationBudget() {
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM can't count allocated bytes per thread");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        kit = new Consumable[]{
+                (Consumable) ItemRegistry.getItemById("healing_potion"),
+                (Consumable) ItemRegistry.getItemById("power_elixir")};
+        // What two reads back to back cost, taken off every measurement
+        overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long a = threads.getThreadAllocatedBytes(self);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(self) - a);
+        }
+    }
+
+    /* One duel per preset, rewound before every battle, warm-up and measured runs alike */
+    private void setUp(int level) {
+        EnemyFactory.PRESETS.forEach((preset, factory) -> {
+            Enemy enemy = factory.apply(level);
+            if (enemy.getBehaviour() == AIRole.STRATEGIST) return; // searches on its own pool, by design
+            Player player = BattleFixtures.player();
+            for (int i = 0; i < kit.length; i++) player.equipConsumable(i, kit[i]);
+            BattleState state = new BattleState(player, enemy, new Rng(preset.hashCode()));
+            BattleSnapshot start = new BattleSnapshot();
+            start.capture(state);
+            duels.put(preset, state);
+            starts.put(preset, start);
+        });
+    }
+
+    private void run(int battles, boolean measure) {
+        String[] presets = duels.keySet().toArray(String[]::new);
+        Rng seeds = new Rng(measure ? 42 : 7);
+        for (int n = 0; n < battles; n++) {
+            String preset = presets[n % presets.length];
+            BattleState state = duels.get(preset);
+            starts.get(preset).restore(state);
+            state.getRng().setSeed(seeds.nextLong());
+            Player player = (Player) state.getPlayer();
+            Enemy enemy = state.getEnemy();
+
+            BattleResult result = null;
+            while (result == null && state.getTurn() < MAX_TURNS) {
+                long before = allocated();
+                // BattleEngine.playTurn, spelled out to see both moves
+                BattleEngine.beginTurn(state);
+                int code = choose(player, played++);
+                int enemyCode = enemy.getBehaviour().decide(enemy, player);
+                long decided = allocated();
+                beforeTurn.capture(state);
+                long resolving = allocated();
+                result = BattleEngine.resolveTurn(state, code, enemyCode);
+                long turn = (decided - before - overhead) + (allocated() - resolving - overhead);
+
+                // The same actions again, one at a time and in the same order, from the same state
+                String at = preset + " turn " + (state.getTurn() - 1);
+                boolean playerFirst = state.isLastPlayerFirst();
+                boolean bothActed = state.isLastBothActed();
+                afterTurn.capture(state);
+                beforeTurn.restore(state);
+                long actions = act(state, playerFirst, code, enemyCode, at);
+                if (bothActed) actions += act(state, !playerFirst, code, enemyCode, at);
+                afterTurn.restore(state);
+                tallies.computeIfAbsent(Kind.TURN, k -> new Tally()).add(Math.max(0, turn - actions), at);
+            }
+        }
+    }
+
+    /* Passes of {@code battles} until the JIT has been idle for a few in a row; what they tallied is dropped */
+    private void warmUp(int battles) {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean timed = jit != null && jit.isCompilationTimeMonitoringSupported();
+        int pass = 0, idle = 0;
+        do {
+            long compiling = timed ? jit.getTotalCompilationTime() : 0;
+            run(battles, false);
+            pass++;
+            idle = timed && jit.getTotalCompilationTime() == compiling ? idle + 1 : 0;
+        } while (timed && idle < IDLE_PASSES && pass < MAX_WARMUP_PASSES);
+        tallies.clear();
+        System.out.printf("Warm-up: %d pass(es) of %,d battles%s%n%n", pass, battles,
+                !timed ? " (JIT activity not visible, one pass only)"
+                        : pass == MAX_WARMUP_PASSES ? " (JIT still busy, measuring anyway)" : "");
+    }
+
+    /* One side's action of the turn, measured on its own and filed under its kind */
+    private long act(BattleState state, boolean player, int playerCode, int enemyCode, String at) {
+        Entity actor = player ? state.getPlayer() : state.getEnemy();
+        Entity target = player ? state.getEnemy() : state.getPlayer();
+        int code = player ? playerCode : enemyCode;
+        long before = allocated();
+        BattleSystem.perform(state, actor, target, code);
+        long bytes = allocated() - before - overhead;
+        tallies.computeIfAbsent(Kind.of(code), k -> new Tally()).add(bytes, at + (player ? ", player" : ", enemy"));
+        return bytes;
+    }
+
+    private long allocated() {
+        return threads.getThreadAllocatedBytes(self);
+    }
+
+    /* Attack, spell, item in turn, falling back to attack when there is nothing to cast or use */
+    private static int choose(Player p, long turn) {
+        if (turn % FLEE_EVERY == FLEE_EVERY - 1) return ActionCode.FLEE;
+        switch ((int) (turn % 3)) {
+            case 1 -> {
+                Spell[] spells = p.getSpellsEquipped();
+                for (int i = 0; i < spells.length; i++) {
+                    if (spells[i] != null && spells[i].isReady()) return ActionCode.spell(i);
+                }
+            }
+            case 2 -> {
+                Consumable[] items = p.getConsumablesEquipped();
+                for (int i = 0; i < items.length; i++) {
+                    if (items[i] != null) return ActionCode.item(i);
+                }
+            }
+            default -> {
+            }
+        }
+        return ActionCode.ATTACK;
+    }
+
+    private boolean report(Map<Kind, Long> budget) {
+        boolean ok = true;
+        System.out.printf("%-16s %10s %14s %10s %10s %8s  %s%n",
+                "action", "times", "bytes", "mean B", "max B", "budget", "worst");
+        for (Kind k : Kind.values()) {
+            Tally t = tallies.getOrDefault(k, new Tally());
+            Long limit = budget.get(k);
+            boolean over = limit != null && t.worst > limit;
+            ok &= !over;
+            System.out.printf("%-16s %,10d %,14d %10.1f %,10d %8s  %s%s%n", k.action, t.turns, t.bytes,
+                    t.turns == 0 ? 0.0 : (double) t.bytes / t.turns, t.worst,
+                    limit == null ? "-" : limit, t.worstAt, over ? "  OVER BUDGET" : "");
+        }
+        System.out.println(ok ? "\nWithin budget." : "\nOver budget: see the worst turns above.");
+        return ok;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import characters.AIRole;
+import characters.Enemy;
+import characters.Entity;
+import characters.Player;
+import characters.StatsType;
+import items.consumables.Consumable;
+import spells.ElementalType;
+import spells.SpellFactory;
+import spells.SpellType;
+import util.ItemRegistry;
+
+import java.util.ArrayList;
+
+/**
+ * Entities shared by the benchmarks, built the same way the game builds them.
+ */
+final class BattleFixtures {
+
+    /* Big enough that nobody dies inside a measurement, small enough not to overflow */
+    static final int IMMORTAL_HP = 1_000_000_000;
+
+    static void loadContent() {
+        if (ItemRegistry.getAllItems().isEmpty()) {
+            ItemRegistry.loadAllItems();
+        }
+    }
+
+    static Player player() {
+        Player p = new Player("Bench", StatsType.INTELLIGENCE, ElementalType.ICE);
+        p.equipSpell(0, SpellType.FIREBALL);
+        p.equipSpell(1, SpellType.FROSTBITE);
+        p.equipSpell(2, SpellType.VINEWHIP);
+        return p;
+    }
+
+    /**
+     * An enemy with spells and both consumable kinds, so every AIRole branch has something to look at.
+     */
+    static Enemy enemy(AIRole role) {
+        Enemy e = new Enemy("Bench " + role, StatsType.STRENGTH, 5, new ArrayList<>(), 0, 0, role);
+        e.setWeapon((items.equip.Weapon) ItemRegistry.getItemById("steel_sword"));
+        e.setArmor((items.equip.Armor) ItemRegistry.getItemById("chainmail_armor"));
+        e.getSpellsEquipped()[0] = SpellFactory.create(SpellType.FROSTBITE);
+        e.getSpellsEquipped()[1] = SpellFactory.create(SpellType.FIREBALL);
+        e.getConsumablesEquipped()[1] = (Consumable) ItemRegistry.getItemById("healing_potion");
+        e.getConsumablesEquipped()[2] = (Consumable) ItemRegistry.getItemById("power_elixir");
+        return e;
+    }
+
+    static void makeImmortal(Entity e) {
+        e.setStat(StatsType.MAX_HP, IMMORTAL_HP);
+        e.setStat(StatsType.HP, IMMORTAL_HP);
+    }
+
+    private BattleFixtures() { /* utility */ }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import battle.BattleSystem;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Player;
+import org.openjdk.jmh.annotations.*;
+import spells.Spell;
+
+import java.util.concurrent.TimeUnit;
+
+import static characters.StatsType.HP;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleSystemBench {
+
+    private Player player;
+    private Enemy enemy;
+    private Spell spell;
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        player = BattleFixtures.player();
+        enemy = BattleFixtures.enemy(AIRole.BERSERKER);
+        BattleFixtures.makeImmortal(enemy);
+        spell = player.getSpellsEquipped()[0];
+    }
+
+    @Benchmark
+    public int attack() {
+        enemy.setStat(HP, BattleFixtures.IMMORTAL_HP);
+        return BattleSystem.attack(player, enemy);
+    }
+
+    @Benchmark
+    public int castSpell() {
+        enemy.setStat(HP, BattleFixtures.IMMORTAL_HP);
+        player.resetCooldowns();
+        return BattleSystem.castSpell(player, spell, enemy);
+    }
+}
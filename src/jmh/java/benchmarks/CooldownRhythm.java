@@ -0,0 +1,127 @@
+package benchmarks;
+
+import battle.BattleEngine;
+import battle.BattleHost;
+import battle.BattleState;
+import battle.TurnManager;
+import battle.actions.ActionCode;
+import battle.event.BattleListener;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Entity;
+import characters.Player;
+import characters.StatsType;
+import spells.SpellFactory;
+import spells.SpellType;
+import util.Rng;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression check for the turn order: player and enemy hold the same single spell and the same
+ * cast-when-ready role, so they must cast on the same turns. A side that decides before
+ * {@link BattleEngine#beginTurn} ticks its cooldowns sees every spell one turn late
+ * ({@code SAASAA...} against {@code SASAS...} for a 2-turn FIREBALL). Checked through both the live
+ * {@link TurnManager} loop and {@link BattleEngine#playTurn}; exits with status 1 on a mismatch, which
+ * fails {@code mvn -Pjmh verify}.
+ * <pre>
+ * mvn -Pjmh package && java -cp target/benchmarks.jar benchmarks.CooldownRhythm
+ * </pre>
+ */
+public class CooldownRhythm {
+
+    private static final int TURNS = 12;
+    private static final SpellType SPELL = SpellType.FIREBALL;
+
+    /** One letter per action a side took: S for a spell, A for anything else. */
+    private static final class Rhythm implements BattleListener {
+        final StringBuilder player = new StringBuilder(), enemy = new StringBuilder();
+        final Entity playerSide;
+
+        Rhythm(Entity playerSide) {
+            this.playerSide = playerSide;
+        }
+
+        @Override
+        public void onAction(Entity actor, int code, Entity target) {
+            (actor == playerSide ? player : enemy).append(ActionCode.isSpell(code) ? 'S' : 'A');
+        }
+
+        int turns() {
+            return Math.min(player.length(), enemy.length());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        BattleFixtures.loadContent();
+        boolean ok = report("TurnManager", live());
+        ok &= report("BattleEngine.playTurn", headless());
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static Rhythm live() throws Exception {
+        Player player = player();
+        Enemy enemy = enemy();
+        TurnManager tm = new TurnManager(player, enemy);
+        tm.setNarrated(false);
+        Rhythm rhythm = new Rhythm(player);
+        tm.getState().subscribe(rhythm);
+        tm.getState().subscribe(new BattleListener() {
+            @Override
+            public void onAction(Entity actor, int code, Entity target) {
+                if (rhythm.turns() >= TURNS) tm.setBattleOver(true);
+            }
+        });
+        // Stands in for the action menu: whatever is offered when the prompt shows is what gets picked
+        tm.setPromptCallback(() -> tm.queuePlayerAction(
+                ActionCode.toAction(AIRole.MAGE.decide(player, enemy), player, enemy)));
+
+        try (BattleHost host = new BattleHost("rhythm-")) {
+            Future<?> battle = host.host(tm);
+            battle.get(30, TimeUnit.SECONDS);
+        }
+        return rhythm;
+    }
+
+    private static Rhythm headless() {
+        Player player = player();
+        Enemy enemy = enemy();
+        BattleState state = new BattleState(player, enemy, new Rng(42));
+        Rhythm rhythm = new Rhythm(player);
+        state.subscribe(rhythm);
+        while (rhythm.turns() < TURNS && !state.isOver()) {
+            BattleEngine.playTurn(state, AIRole.MAGE);
+        }
+        return rhythm;
+    }
+
+    private static boolean report(String path, Rhythm rhythm) {
+        int n = rhythm.turns();
+        String p = rhythm.player.substring(0, n), e = rhythm.enemy.substring(0, n);
+        boolean same = n >= TURNS && p.equals(e);
+        System.out.printf("%-22s player %s  enemy %s  %s%n", path, p, e, same ? "ok" : "MISMATCH");
+        return same;
+    }
+
+    private static Player player() {
+        Player p = BattleFixtures.player();
+        equipOnly(p);
+        BattleFixtures.makeImmortal(p);
+        return p;
+    }
+
+    private static Enemy enemy() {
+        Enemy e = new Enemy("Rhythm", StatsType.INTELLIGENCE, 5, new ArrayList<>(), 0, 0, AIRole.MAGE);
+        equipOnly(e);
+        BattleFixtures.makeImmortal(e);
+        return e;
+    }
+
+    private static void equipOnly(Entity e) {
+        e.getSpellsEquipped()[0] = SpellFactory.create(SPELL);
+        e.getSpellsEquipped()[1] = null;
+        e.getSpellsEquipped()[2] = null;
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import battle.BattleEngine;
+import battle.BattleState;
+import battle.actions.BattleResult;
+import characters.AIRole;
+import characters.Enemy;
+import characters.EnemyFactory;
+import characters.Player;
+import org.openjdk.jmh.annotations.*;
+import util.Rng;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole duel from construction to result, the unit of work of the balance simulator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FullBattleBench {
+
+    private static final int MAX_TURNS = 200;
+
+    @Param({"Bandit", "RicottelliPriest", "LinguiniMatriarch", "ParmesaniDon"})
+    public String preset;
+
+    @Param({"5"})
+    public int level;
+
+    private Rng rng;
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        rng = new Rng(42);
+    }
+
+    @Benchmark
+    public BattleResult battle() {
+        Player player = BattleFixtures.player();
+        Enemy enemy = EnemyFactory.PRESETS.get(preset).apply(level);
+        BattleState state = new BattleState(player, enemy, rng.split());
+        BattleResult result = null;
+        while (result == null && state.getTurn() < MAX_TURNS) {
+            result = BattleEngine.playTurn(state, AIRole.MAGE);
+        }
+        return result;
+    }
+}
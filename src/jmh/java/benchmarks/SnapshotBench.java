@@ -0,0 +1,47 @@
+package benchmarks;
+
+import battle.BattleEngine;
+import battle.BattleSnapshot;
+import battle.BattleState;
+import battle.actions.BattleResult;
+import characters.AIRole;
+import org.openjdk.jmh.annotations.*;
+import util.Rng;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the capture/restore pair a search AI pays per node, with and without a turn in between.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBench {
+
+    private BattleState state;
+    private final BattleSnapshot snapshot = new BattleSnapshot();
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        state = new BattleState(BattleFixtures.player(), BattleFixtures.enemy(AIRole.MAGE_BOOSTER), new Rng(42));
+        snapshot.capture(state);
+    }
+
+    @Benchmark
+    public void captureRestore() {
+        snapshot.capture(state);
+        snapshot.restore(state);
+    }
+
+    @Benchmark
+    public BattleResult lookaheadOneTurn() {
+        snapshot.capture(state);
+        BattleResult result = BattleEngine.playTurn(state, AIRole.BERSERKER);
+        snapshot.restore(state);
+        return result;
+    }
+}
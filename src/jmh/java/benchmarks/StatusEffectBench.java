@@ -0,0 +1,37 @@
+package benchmarks;
+
+import characters.Player;
+import characters.StatsType;
+import characters.TemporaryStatBoost;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusEffectBench {
+
+    @Param({"0", "4", "32"})
+    public int boosts;
+
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        player = BattleFixtures.player();
+        for (int i = 0; i < boosts; i++) {
+            // Never expires during the run; the clock stands still, so every tick looks at the same wheel bucket
+            player.addTemporaryBoost(new TemporaryStatBoost(player, StatsType.STRENGTH, 1, Integer.MAX_VALUE));
+        }
+    }
+
+    @Benchmark
+    public void tickStatusEffects() {
+        player.tickStatusEffects();
+    }
+}
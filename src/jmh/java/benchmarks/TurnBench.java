@@ -0,0 +1,59 @@
+package benchmarks;
+
+import battle.BattleEngine;
+import battle.BattleState;
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Player;
+import org.openjdk.jmh.annotations.*;
+import util.Rng;
+
+import java.util.concurrent.TimeUnit;
+
+import static characters.StatsType.HP;
+
+/**
+ * One headless turn, i.e. what TurnManager does per turn minus the UI.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBench {
+
+    @Param({"BERSERKER", "MAGE"})
+    public AIRole enemyRole;
+
+    @Param({"0", "2"}) // ActionCode.ATTACK, ActionCode.spell(0)
+    public int playerCode;
+
+    private Player player;
+    private Enemy enemy;
+    private BattleState state;
+
+    @Setup
+    public void setUp() {
+        BattleFixtures.loadContent();
+        player = BattleFixtures.player();
+        enemy = BattleFixtures.enemy(enemyRole);
+        BattleFixtures.makeImmortal(player);
+        BattleFixtures.makeImmortal(enemy);
+        state = new BattleState(player, enemy, new Rng(42));
+    }
+
+    @Benchmark
+    public BattleResult turn() {
+        player.setStat(HP, BattleFixtures.IMMORTAL_HP);
+        enemy.setStat(HP, BattleFixtures.IMMORTAL_HP);
+        // BattleEngine.playTurn, spelled out so the player's code is a parameter
+        BattleEngine.beginTurn(state);
+        // A spell on cooldown falls back to a plain attack, like a player clicking it would be refused
+        int code = ActionCode.isSpell(playerCode) && !player.getSpellsEquipped()[ActionCode.slot(playerCode)].isReady()
+                ? ActionCode.ATTACK : playerCode;
+        return BattleEngine.resolveTurn(state, code, enemy.getBehaviour().decide(enemy, player));
+    }
+}
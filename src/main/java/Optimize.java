@@ -0,0 +1,78 @@
+import scenes.missions.MissionType;
+import simulation.LoadoutOptimizer;
+import simulation.MissionLineup;
+import util.DeveloperLogger;
+import util.ItemRegistry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless build search for the missions. Example:
+ * <pre>
+ * java -cp target/classes:... Optimize --missions MISSION_1,MISSION_2 --level 5 --population 32
+ *      --generations 20 --duels 2000 --top 10 --seed 7
+ *      (--missions all for the tutorial and Mission 1–8)
+ * </pre>
+ */
+public class Optimize {
+    public static void main(String[] args) {
+        Map<String, String> opts = parseArgs(args);
+
+        int level = Integer.parseInt(opts.getOrDefault("level", "5"));
+        int population = Integer.parseInt(opts.getOrDefault("population", "32"));
+        int generations = Integer.parseInt(opts.getOrDefault("generations", "20"));
+        int duels = Integer.parseInt(opts.getOrDefault("duels", "2000"));
+        int top = Integer.parseInt(opts.getOrDefault("top", "10"));
+        int maxTurns = Integer.parseInt(opts.getOrDefault("max-turns", "200"));
+        long seed = opts.containsKey("seed") ? Long.parseLong(opts.get("seed")) : System.nanoTime();
+        int threads = Integer.parseInt(opts.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String missions = opts.getOrDefault("missions", "all");
+
+        if (opts.containsKey("log")) {
+            DeveloperLogger.configure(opts.get("log"));
+            DeveloperLogger.setSink(System.err::println);
+        }
+        ItemRegistry.loadAllItems();
+
+        List<MissionType> targets = missions.equals("all")
+                ? List.of(MissionType.values())
+                : Arrays.stream(missions.split(",")).map(MissionType::valueOf).toList();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        LoadoutOptimizer optimizer = new LoadoutOptimizer(pool, duels, maxTurns, seed);
+        for (MissionType mission : targets) {
+            long start = System.nanoTime();
+            List<LoadoutOptimizer.Ranked> ranked =
+                    optimizer.optimize(MissionLineup.of(mission), level, population, generations, top);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("=== %s at level %d (%d ms) ===%n", mission, level, elapsedMs);
+            int rank = 1;
+            for (LoadoutOptimizer.Ranked r : ranked) {
+                StringBuilder fights = new StringBuilder();
+                r.winRates().forEach((foe, w) -> fights.append(String.format("  %s %.1f%%", foe, 100 * w)));
+                System.out.printf("%2d. clear %5.1f%% [%5.1f, %5.1f]  %s weak %s%s%n", rank++,
+                        100 * r.clearRate(), 100 * r.low(), 100 * r.high(),
+                        r.build().label(), r.build().weakness(), fights);
+            }
+            System.out.println();
+        }
+        pool.shutdown();
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,54 @@
+import battle.BattleState;
+import battle.actions.BattleResult;
+import battle.replay.BattleJournal;
+import battle.replay.BattleReplayer;
+import characters.StatsType;
+import util.ItemRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Headless replay of a saved battle journal. Example:
+ * <pre>
+ * java -cp target/classes:... Replay ~/.textadv/replays/last-battle.taj [--times 10000]
+ * </pre>
+ */
+public class Replay {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: Replay <journal> [--times N]");
+            return;
+        }
+        BattleJournal journal = BattleJournal.load(Path.of(args[0]));
+        int times = args.length >= 3 && args[1].equals("--times") ? Integer.parseInt(args[2]) : 1;
+
+        ItemRegistry.loadAllItems();
+
+        BattleReplayer replayer = new BattleReplayer(journal);
+        BattleState state = replayer.getState();
+        printHp(state);
+        while (replayer.hasNext()) {
+            replayer.step();
+            printHp(state);
+        }
+        BattleResult result = state.getResult();
+        System.out.println("Result: " + (result != null ? result : "unfinished"));
+
+        if (times > 1) {
+            long start = System.nanoTime();
+            for (int i = 0; i < times; i++) {
+                new BattleReplayer(journal).playToEnd();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d replays in %d ms (%.0f/s)%n",
+                    times, elapsed / 1_000_000, times * 1e9 / elapsed);
+        }
+    }
+
+    private static void printHp(BattleState state) {
+        System.out.printf("turn %3d  %s HP=%d  %s HP=%d%n", state.getTurn(),
+                state.getPlayer().getName(), state.getPlayer().getStat(StatsType.HP),
+                state.getEnemy().getName(), state.getEnemy().getStat(StatsType.HP));
+    }
+}
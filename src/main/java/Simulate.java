@@ -0,0 +1,146 @@
+import battle.ai.MctsPlanner;
+import battle.stats.BattleStatsStore;
+import characters.AIRole;
+import characters.EnemyFactory;
+import characters.StatsType;
+import simulation.BalanceSimulator;
+import simulation.BatchSimulator;
+import simulation.ClusterSimulator;
+import simulation.PlayerBuild;
+import spells.ElementalType;
+import spells.SpellType;
+import util.DeveloperLogger;
+import util.ItemRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless balance run. Example:
+ * <pre>
+ * java -cp target/classes:... Simulate --duels 100000 --seed 42 --levels 1,5,10 --boosts STRENGTH,INTELLIGENCE
+ *      --weapon steel_sword --armor chainmail_armor --spells FIREBALL,FROSTBITE
+ *      --log info,battle=debug   (developer log to stderr)
+ *
+ * java --add-modules jdk.incubator.vector -cp ... Simulate --engine batch --levels 1-50 --duels 10000
+ *      (every level against every preset on the struct-of-arrays engine; build with -Pvector for SIMD)
+ *
+ * java -cp ... Simulate --workers 4 --threads 2 --duels 1000000   (4 worker JVMs, 2 threads each)
+ *
+ * java -cp ... Simulate --stats sim.tas   (every duel appended to a battle stats file; see Stats)
+ * </pre>
+ */
+public class Simulate {
+    public static void main(String[] args) {
+        Map<String, String> opts = parseArgs(args);
+
+        int duels = Integer.parseInt(opts.getOrDefault("duels", "10000"));
+        int maxTurns = Integer.parseInt(opts.getOrDefault("max-turns", "200"));
+        long seed = opts.containsKey("seed") ? Long.parseLong(opts.get("seed")) : System.nanoTime();
+        int threads = Integer.parseInt(opts.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String weapon = opts.getOrDefault("weapon", "iron_sword");
+        String armor = opts.getOrDefault("armor", "leather_armor");
+        ElementalType weakness = ElementalType.valueOf(opts.getOrDefault("weakness", "FIRE"));
+
+        if (opts.containsKey("log")) {
+            DeveloperLogger.configure(opts.get("log"));
+            DeveloperLogger.setSink(System.err::println);
+            System.setProperty("textadv.log", opts.get("log")); // passed on to cluster workers
+        }
+        if (opts.containsKey("mcts-ms")) {
+            MctsPlanner.setBudgetMillis(Long.parseLong(opts.get("mcts-ms")));
+        }
+
+        List<SpellType> spells = opts.containsKey("spells")
+                ? Arrays.stream(opts.get("spells").split(",")).map(SpellType::valueOf).toList()
+                : List.of();
+        AIRole policy = opts.containsKey("policy")
+                ? AIRole.valueOf(opts.get("policy"))
+                : spells.isEmpty() ? AIRole.BERSERKER : AIRole.MAGE;
+
+        List<PlayerBuild> builds = new ArrayList<>();
+        for (int lvl : parseLevels(opts.getOrDefault("levels", "1,5,10"))) {
+            for (String boost : opts.getOrDefault("boosts", "STRENGTH,INTELLIGENCE").split(",")) {
+                builds.add(new PlayerBuild(lvl, StatsType.valueOf(boost), weakness,
+                        weapon, armor, spells, policy));
+            }
+        }
+
+        ItemRegistry.loadAllItems();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<BalanceSimulator.MatchupResult> results;
+        String engine = opts.getOrDefault("engine", "objects");
+        int workers = Integer.parseInt(opts.getOrDefault("workers", "0"));
+        String where = threads + " threads";
+        BattleStatsStore store = null;
+        if (opts.containsKey("stats")) {
+            if (workers > 0 || !engine.equals("objects")) {
+                throw new IllegalArgumentException("--stats needs the objects engine without workers");
+            }
+            store = openStats(Path.of(opts.get("stats")));
+        }
+        if (workers > 0) {
+            results = new ClusterSimulator(workers, threads, engine, duels, maxTurns, seed).run(builds, EnemyFactory.PRESETS);
+            where = workers + " workers x " + where;
+        } else if (engine.equals("batch")) {
+            BatchSimulator batch = new BatchSimulator(pool, duels, maxTurns, seed);
+            engine += " (" + batch.kernel() + ")";
+            results = batch.run(builds, EnemyFactory.PRESETS);
+        } else {
+            results = new BalanceSimulator(pool, duels, maxTurns, seed).recordTo(store).run(builds, EnemyFactory.PRESETS);
+        }
+        pool.shutdown();
+        if (store != null) store.close();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        BalanceSimulator.printReport(results, System.out);
+        long total = (long) duels * results.size();
+        System.out.printf("%nseed %d: %d duels on %s, %s engine, in %d ms (%.0f duels/s)%n",
+                seed, total, where, engine, elapsedMs, total * 1000.0 / Math.max(1, elapsedMs));
+    }
+
+    private static BattleStatsStore openStats(Path file) {
+        try {
+            return BattleStatsStore.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** "1,5,10" or a range such as "1-50", or a mix of both. */
+    private static List<Integer> parseLevels(String spec) {
+        List<Integer> levels = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            int dash = part.indexOf('-');
+            if (dash < 0) {
+                levels.add(Integer.parseInt(part.trim()));
+            } else {
+                int from = Integer.parseInt(part.substring(0, dash).trim());
+                int to = Integer.parseInt(part.substring(dash + 1).trim());
+                for (int l = from; l <= to; l++) levels.add(l);
+            }
+        }
+        return levels;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,126 @@
+import battle.BattleState;
+import battle.actions.ActionCode;
+import battle.ai.ExpectimaxSolver;
+import characters.AIRole;
+import characters.Enemy;
+import characters.EnemyFactory;
+import characters.Player;
+import characters.StatsType;
+import simulation.PlayerBuild;
+import spells.ElementalType;
+import spells.SpellType;
+import util.ItemRegistry;
+import util.Rng;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+/**
+ * Exact win probabilities: the best possible play, and the build's policy, for every preset at every
+ * level. Example:
+ * <pre>
+ * java -cp target/classes:... Solve --levels 1-10 --presets Bandit,ParmesaniGoon --spells FIREBALL,FROSTBITE
+ *      --max-turns 200 --flee 0.5   (what a successful flee is worth; 0 counts it as a loss)
+ * </pre>
+ * Presets that play STRATEGIST are skipped, and so is any duel with more than --max-states states.
+ */
+public class Solve {
+    public static void main(String[] args) {
+        Map<String, String> opts = parseArgs(args);
+
+        int maxTurns = Integer.parseInt(opts.getOrDefault("max-turns", "200"));
+        int maxStates = Integer.parseInt(opts.getOrDefault("max-states", "2000000"));
+        double fleeValue = Double.parseDouble(opts.getOrDefault("flee", "0"));
+        int threads = Integer.parseInt(opts.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String weapon = opts.getOrDefault("weapon", "iron_sword");
+        String armor = opts.getOrDefault("armor", "leather_armor");
+        ElementalType weakness = ElementalType.valueOf(opts.getOrDefault("weakness", "FIRE"));
+
+        List<SpellType> spells = opts.containsKey("spells")
+                ? Arrays.stream(opts.get("spells").split(",")).map(SpellType::valueOf).toList()
+                : List.of();
+        AIRole policy = opts.containsKey("policy")
+                ? AIRole.valueOf(opts.get("policy"))
+                : spells.isEmpty() ? AIRole.BERSERKER : AIRole.MAGE;
+
+        List<PlayerBuild> builds = new ArrayList<>();
+        for (int lvl : parseLevels(opts.getOrDefault("levels", "1,5,10"))) {
+            for (String boost : opts.getOrDefault("boosts", "STRENGTH,INTELLIGENCE").split(",")) {
+                builds.add(new PlayerBuild(lvl, StatsType.valueOf(boost), weakness, weapon, armor, spells, policy));
+            }
+        }
+        List<String> presets = opts.getOrDefault("presets", "all").equals("all")
+                ? List.copyOf(EnemyFactory.PRESETS.keySet())
+                : List.of(opts.get("presets").split(","));
+
+        ItemRegistry.loadAllItems();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ExpectimaxSolver template = new ExpectimaxSolver(maxTurns, fleeValue, maxStates);
+        List<ForkJoinTask<String>> rows = new ArrayList<>();
+        for (PlayerBuild build : builds) {
+            for (String preset : presets) {
+                IntFunction<Enemy> factory = EnemyFactory.PRESETS.get(preset);
+                if (factory == null) throw new IllegalArgumentException("Unknown preset " + preset);
+                rows.add(pool.submit(() -> solve(template, build, preset, factory)));
+            }
+        }
+
+        System.out.printf("%-40s %-20s %8s %8s %7s  %-22s %9s%n",
+                "build", "enemy", "optimal", "policy", "gap", "best first move", "states");
+        for (ForkJoinTask<String> row : rows) System.out.println(row.join());
+        pool.shutdown();
+        System.out.printf("%n%d duels solved in %d ms%n", rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String solve(ExpectimaxSolver template, PlayerBuild build, String preset, IntFunction<Enemy> factory) {
+        Player player = build.create();
+        Enemy enemy = factory.apply(build.level());
+        BattleState state = new BattleState(player, enemy, new Rng(0));
+        try {
+            ExpectimaxSolver.Solution best = template.following(null).solve(state);
+            ExpectimaxSolver.Solution heuristic = template.following(build.policy()).solve(state);
+            return String.format("%-40s %-20s %7.2f%% %7.2f%% %6.2f%%  %-22s %,9d", build.label(), preset,
+                    100 * best.winProbability(), 100 * heuristic.winProbability(),
+                    100 * (best.winProbability() - heuristic.winProbability()),
+                    ActionCode.describe(best.bestMove(), player), best.states());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return String.format("%-40s %-20s skipped: %s", build.label(), preset, e.getMessage());
+        }
+    }
+
+    /** "1,5,10" or a range such as "1-50", or a mix of both. */
+    private static List<Integer> parseLevels(String spec) {
+        List<Integer> levels = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            int dash = part.indexOf('-');
+            if (dash < 0) {
+                levels.add(Integer.parseInt(part.trim()));
+            } else {
+                int from = Integer.parseInt(part.substring(0, dash).trim());
+                int to = Integer.parseInt(part.substring(dash + 1).trim());
+                for (int l = from; l <= to; l++) levels.add(l);
+            }
+        }
+        return levels;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,52 @@
+import battle.stats.BattleStatsQuery;
+import battle.stats.BattleStatsStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregates over a battle stats file. Example:
+ * <pre>
+ * java -cp target/classes:... Stats --file sim.tas --band 5
+ *      (without --file, the game's own ~/.textadv/stats/battles.tas)
+ * </pre>
+ */
+public class Stats {
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = parseArgs(args);
+
+        int band = Integer.parseInt(opts.getOrDefault("band", "5"));
+        Path file = opts.containsKey("file") ? Path.of(opts.get("file"))
+                : Path.of(System.getProperty("user.home"), ".textadv", "stats", "battles.tas");
+
+        try (BattleStatsStore store = BattleStatsStore.openReadOnly(file)) {
+            BattleStatsQuery query = new BattleStatsQuery(store);
+            long start = System.nanoTime();
+
+            System.out.printf("%s: %d battles%n%n", file, query.count());
+            System.out.println("Win rate by level");
+            for (BattleStatsQuery.LevelBand b : query.winRateByLevelBand(band)) {
+                System.out.printf("  %3d-%-3d %,12d battles  %5.1f%%%n", b.from(), b.to(), b.battles(), 100 * b.winRate());
+            }
+            System.out.println();
+            System.out.println("Most used spell by enemy");
+            query.mostUsedSpellByEnemy().forEach((enemy, top) ->
+                    System.out.printf("  %-22s %-12s %,d casts%n", enemy, top.spell(), top.casts()));
+
+            System.out.printf("%nin %d ms%n", (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,88 @@
+package battle;
+
+import battle.actions.BattleResult;
+import battle.event.BattleEventBus;
+import characters.Behaviour;
+import characters.Enemy;
+import characters.Entity;
+
+import static characters.StatsType.SPEED;
+
+/**
+ * Headless turn resolver: one player action in, one resolved turn out.
+ * No UI, no loggers and no sleeps, so it runs at CPU speed; anything that wants to
+ * watch subscribes to the state's {@link battle.event.BattleListener} events.
+ * Actions are {@link battle.actions.ActionCode}s, so a turn allocates nothing.
+ */
+public final class BattleEngine {
+
+    /**
+     * Whole turn, with {@code player} choosing the player's action and the enemy's AI its own.
+     * Both choose after {@link #beginTurn}, so both see the same cooldowns.
+     *
+     * @return the final result, or {@code null} if the battle goes on
+     */
+    public static BattleResult playTurn(BattleState state, Behaviour player) {
+        beginTurn(state);
+        Entity p = state.getPlayer();
+        Enemy enemy = state.getEnemy();
+        return resolveTurn(state, player.decide(p, enemy), enemy.getBehaviour().decide(enemy, p));
+    }
+
+    /**
+     * First half of a turn: both clocks advance, so cooldowns ending now are ready before anyone decides.
+     */
+    public static void beginTurn(BattleState state) {
+        if (state.isOver()) {
+            throw new IllegalStateException("Battle is already over");
+        }
+        state.getPlayer().startTurn();
+        state.getEnemy().startTurn();
+    }
+
+    /**
+     * Second half of a turn: both decisions are known, run them in SPEED order.
+     * The order and whether the slower side got to act are left on the state.
+     */
+    public static BattleResult resolveTurn(BattleState state, int playerCode, int enemyCode) {
+        Entity player = state.getPlayer();
+        Enemy enemy = state.getEnemy();
+
+        boolean playerFirst = player.getStat(SPEED) > enemy.getStat(SPEED)
+                || (player.getStat(SPEED) == enemy.getStat(SPEED) && state.getRng().nextBoolean());
+
+        if (playerFirst) {
+            BattleSystem.perform(state, player, enemy, playerCode);
+        } else {
+            BattleSystem.perform(state, enemy, player, enemyCode);
+        }
+        boolean bothActed = !state.isOver();
+        if (bothActed) {
+            if (playerFirst) {
+                BattleSystem.perform(state, enemy, player, enemyCode);
+            } else {
+                BattleSystem.perform(state, player, enemy, playerCode);
+            }
+        }
+
+        BattleEventBus ev = state.getEvents();
+        if (ev != null) {
+            reportExpiring(ev, player);
+            reportExpiring(ev, enemy);
+        }
+        player.tickStatusEffects();
+        enemy.tickStatusEffects();
+        state.endTurn(playerFirst, bothActed);
+
+        BattleResult result = state.getResult();
+        if (result != null && ev != null) ev.onBattleEnded(state, result);
+        return result;
+    }
+
+    /* Boosts on their last turn; reported just before the tick reverts them */
+    private static void reportExpiring(BattleEventBus ev, Entity e) {
+        e.forEachExpiringBoost(b -> ev.onBoostExpired(e, b.getStat(), b.getBoostAmount()));
+    }
+
+    private BattleEngine() { /* utility */ }
+}
@@ -0,0 +1,60 @@
+package battle;
+
+import util.DeveloperLogger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * Runs {@link TurnManager} loops on virtual threads.
+ * <p>
+ * A battle spends nearly all of its life parked in {@code take()} on its own
+ * input queue; on a virtual thread that costs a few hundred bytes of heap
+ * instead of an OS thread, so one JVM can hold tens of thousands of them.
+ * Feed each battle through {@link TurnManager#queuePlayerAction}.
+ */
+public final class BattleHost implements AutoCloseable {
+
+    private static final BattleHost SHARED = new BattleHost("battle-");
+
+    private final ExecutorService executor;
+    private final Set<TurnManager> active = ConcurrentHashMap.newKeySet();
+
+    public BattleHost(String threadPrefix) {
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(threadPrefix, 0).factory());
+    }
+
+    /** Host used by the game UI; lives as long as the JVM. */
+    public static BattleHost shared() {
+        return SHARED;
+    }
+
+    /** Starts the battle loop; the future completes once the battle has ended. */
+    public Future<?> host(TurnManager tm) {
+        active.add(tm);
+        return executor.submit(() -> {
+            try {
+                tm.startBattle();
+            } finally {
+                active.remove(tm);
+            }
+        });
+    }
+
+    public int activeBattles() {
+        return active.size();
+    }
+
+    /** Interrupts every parked battle; each loop exits without a result. */
+    @Override
+    public void close() {
+        DeveloperLogger.info(BATTLE, "BattleHost closing with {} battles active", active.size());
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+package battle;
+
+import characters.Entity;
+import characters.StatsType;
+import characters.TemporaryStatBoost;
+import items.consumables.Consumable;
+import spells.Spell;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable save point for one {@link BattleState}: capture, play ahead, restore.
+ * <p>
+ * Everything lives in arrays allocated once, so capture/restore is a handful of array copies and
+ * touches the heap only when an entity carries more boosts than ever seen before.
+ * Restore must target the same state (same entity objects) that was captured; use
+ * {@link BattleState#fork} for an independent copy.
+ */
+public final class BattleSnapshot {
+
+    private static final int STATS = StatsType.VALUES.length;
+    private static final int SLOTS = 3;
+
+    private long rngSeed;
+    private int turn;
+    private boolean playerFled;
+    private boolean lastPlayerFirst;
+    private boolean lastBothActed;
+
+    private final EntityFrame player = new EntityFrame();
+    private final EntityFrame enemy = new EntityFrame();
+
+    public void capture(BattleState state) {
+        rngSeed = state.getRng().getSeed();
+        turn = state.getTurn();
+        playerFled = state.isPlayerFled();
+        lastPlayerFirst = state.isLastPlayerFirst();
+        lastBothActed = state.isLastBothActed();
+        player.capture(state.getPlayer());
+        enemy.capture(state.getEnemy());
+    }
+
+    public void restore(BattleState state) {
+        state.getRng().setSeed(rngSeed);
+        state.restore(turn, playerFled, lastPlayerFirst, lastBothActed);
+        player.restore(state.getPlayer());
+        enemy.restore(state.getEnemy());
+    }
+
+    /**
+     * Per-combatant part: stats, clock, cooldowns, consumable slots and boosts.
+     * Spell and boost objects are kept by reference; only their mutable turn numbers are copied,
+     * and the entity's timing wheels are re-filed on restore.
+     */
+    private static final class EntityFrame {
+        private final int[] stats = new int[STATS];
+        private int clock;
+        private final int[] readyAt = new int[SLOTS];
+        private final Consumable[] consumables = new Consumable[SLOTS];
+        private TemporaryStatBoost[] boosts = new TemporaryStatBoost[4];
+        private int[] boostExpiry = new int[4];
+        private int boostCount;
+
+        void capture(Entity e) {
+            e.saveStats(stats, 0);
+            clock = e.getClock();
+            Spell[] spells = e.getSpellsEquipped();
+            for (int i = 0; i < SLOTS; i++) {
+                readyAt[i] = spells[i] != null ? spells[i].getReadyAt() : 0;
+            }
+            System.arraycopy(e.getConsumablesEquipped(), 0, consumables, 0, SLOTS);
+
+            List<TemporaryStatBoost> live = e.getTempBoosts();
+            boostCount = live.size();
+            if (boostCount > boosts.length) {
+                boosts = Arrays.copyOf(boosts, boostCount * 2);
+                boostExpiry = Arrays.copyOf(boostExpiry, boostCount * 2);
+            }
+            for (int i = 0; i < boostCount; i++) {
+                boosts[i] = live.get(i);
+                boostExpiry[i] = boosts[i].getExpiresAt();
+            }
+        }
+
+        void restore(Entity e) {
+            e.loadStats(stats, 0);
+            Spell[] spells = e.getSpellsEquipped();
+            for (int i = 0; i < SLOTS; i++) {
+                if (spells[i] != null) spells[i].setReadyAt(readyAt[i]);
+            }
+            e.restoreClock(clock);
+            System.arraycopy(consumables, 0, e.getConsumablesEquipped(), 0, SLOTS);
+
+            e.clearTemporaryBoosts();
+            for (int i = 0; i < boostCount; i++) {
+                boosts[i].setExpiresAt(boostExpiry[i]);
+                e.addTemporaryBoost(boosts[i]);
+            }
+        }
+    }
+}
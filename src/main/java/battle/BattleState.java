@@ -0,0 +1,88 @@
+package battle;
+
+import battle.actions.BattleResult;
+import battle.event.BattleEventBus;
+import battle.event.BattleListener;
+import characters.Enemy;
+import characters.Entity;
+import lombok.Getter;
+import util.Rng;
+
+/**
+ * Everything the engine needs to resolve a duel, with no UI attached.
+ */
+@Getter
+public class BattleState {
+
+    private final Entity player;
+    private final Enemy enemy;
+    private final Rng rng;
+
+    private int turn = 0;
+    private boolean playerFled = false;
+
+    /* How the last resolved turn went */
+    private boolean lastPlayerFirst;
+    private boolean lastBothActed;
+
+    /* null while nobody listens, so emit sites cost one null check */
+    private BattleEventBus events;
+
+    public BattleState(Entity player, Enemy enemy, Rng rng) {
+        this.player = player;
+        this.enemy = enemy;
+        this.rng = rng;
+    }
+
+    public void subscribe(BattleListener l) {
+        if (events == null) events = new BattleEventBus();
+        events.subscribe(l);
+    }
+
+    public void unsubscribe(BattleListener l) {
+        if (events == null) return;
+        events.unsubscribe(l);
+        if (events.isEmpty()) events = null;
+    }
+
+    public void markFled() {
+        playerFled = true;
+    }
+
+    void endTurn(boolean playerFirst, boolean bothActed) {
+        lastPlayerFirst = playerFirst;
+        lastBothActed = bothActed;
+        turn++;
+    }
+
+    /**
+     * Deep copy with its own combatants, for a worker that wants to search on its own.
+     * Subscribers are not carried over.
+     */
+    public BattleState fork(Rng rng) {
+        BattleState copy = new BattleState(player.copyForBattle(), enemy.copyForBattle(), rng);
+        copy.restore(turn, playerFled, lastPlayerFirst, lastBothActed);
+        return copy;
+    }
+
+    void restore(int turn, boolean playerFled, boolean lastPlayerFirst, boolean lastBothActed) {
+        this.turn = turn;
+        this.playerFled = playerFled;
+        this.lastPlayerFirst = lastPlayerFirst;
+        this.lastBothActed = lastBothActed;
+    }
+
+    public boolean isOver() {
+        return playerFled || !player.isAlive() || !enemy.isAlive();
+    }
+
+    /**
+     * @return the final result, or {@code null} while the battle is still running
+     */
+    public BattleResult getResult() {
+        if (!player.isAlive()) return BattleResult.DEFEAT;
+        if (!enemy.isAlive()) return BattleResult.VICTORY;
+        if (playerFled) return BattleResult.FLED;
+        return null;
+    }
+}
@@ -1,30 +1,89 @@
 package battle;
 
+import battle.actions.ActionCode;
+import battle.event.BattleEventBus;
+import battle.formula.Formulas;
 import characters.Entity;
+import characters.TemporaryStatBoost;
+import items.consumables.Consumable;
+import items.consumables.StatEnhancer;
+import spells.ElementalAffinity;
 import spells.Spell;
-import util.DeveloperLogger;
 
-import static characters.StatsType.*;
+import java.util.List;
+
+import static characters.StatsType.HP;
+import static characters.StatsType.MAX_HP;
 
 public class BattleSystem {
-    public static void attack(Entity attacker, Entity target) {
-        int damage = attacker.getWeapon().getEffectiveDamage(attacker.getStats()) - target.getEffectiveDefense();
+    /**
+     * @return damage dealt (negative when the target's defense out-scales the hit)
+     */
+    public static int attack(Entity attacker, Entity target) {
+        int damage = Formulas.ATTACK.evalInt(attacker, target, 0, 0, 1);
         applyDamage(target, damage);
+        return damage;
     }
 
-    public static void castSpell(Entity caster, Spell spell, Entity target) {
+    /**
+     * @return damage dealt (negative when the target absorbed the element), or 0 if the spell was still on cooldown
+     */
+    public static int castSpell(Entity caster, Spell spell, Entity target) {
         if (!spell.isReady()) {
-            DeveloperLogger.log("Spell " + spell.getName() + " is on cooldown.");
-            return;
+            return 0;
         }
-        int spellPower = spell.getDamage() + caster.getStat(INTELLIGENCE);
-        if (spell.getElement() == target.getElementalWeakness()) {
-            spellPower *= 1.25;
+        int spellPower = Formulas.SPELL.evalInt(caster, target, spell.getDamage(), 0,
+                ElementalAffinity.of(spell, target));
+        if (spellPower < 0) { // 🌀 Absorbed: heals the target, up to its max
+            spellPower = -Math.min(-spellPower, Math.max(0, target.getStat(MAX_HP) - target.getStat(HP)));
         }
         applyDamage(target, spellPower);
-        spell.setOnCooldown(); // ⏳ Start cooldown after casting
-        DeveloperLogger.log("🔥 " + caster.getName() + " casts " + spell.getName() +
-                " on " + target.getName() + " for " + spellPower + " damage.");
+        caster.startCooldown(spell); // ⏳ Start cooldown after casting
+        return spellPower;
+    }
+
+    /**
+     * Runs an {@link ActionCode} for {@code actor}, reporting to the state's subscribers if there are any.
+     */
+    public static void perform(BattleState state, Entity actor, Entity target, int code) {
+        BattleEventBus ev = state.getEvents();
+        if (ev != null) ev.onAction(actor, code, target);
+
+        if (code == ActionCode.ATTACK) {
+            int damage = attack(actor, target);
+            if (ev != null) ev.onDamage(actor, target, damage);
+        } else if (code == ActionCode.FLEE) {
+            boolean fled = state.getRng().nextBoolean();
+            if (fled) state.markFled();
+            if (ev != null) ev.onFleeAttempt(actor, fled);
+        } else if (ActionCode.isSpell(code)) {
+            Spell spell = actor.getSpellsEquipped()[ActionCode.slot(code)];
+            boolean ready = spell.isReady();
+            int damage = castSpell(actor, spell, target);
+            if (ev != null && ready) {
+                ev.onSpellCast(actor, spell, target);
+                ev.onDamage(actor, target, damage);
+                ev.onCooldownStarted(actor, spell);
+            }
+        } else {
+            Consumable item = actor.getConsumablesEquipped()[ActionCode.slot(code)];
+            useItem(actor, ActionCode.slot(code));
+            if (ev != null) {
+                ev.onItemUsed(actor, item);
+                if (item instanceof StatEnhancer se) {
+                    // The boost just added is last in the list; its amount went through the boost formula
+                    List<TemporaryStatBoost> boosts = actor.getTempBoosts();
+                    TemporaryStatBoost b = boosts.get(boosts.size() - 1);
+                    ev.onBoostApplied(actor, b.getStat(), b.getBoostAmount(), se.getLength());
+                }
+            }
+        }
+    }
+
+    public static void useItem(Entity user, int slot) {
+        Consumable item = user.getConsumablesEquipped()[slot];
+        item.use(user);
+        user.getConsumablesEquipped()[slot] = null;
     }
 
     private static void applyDamage(Entity target, int amount) {
@@ -34,4 +93,3 @@ public class BattleSystem {
         }
     }
 }
-
@@ -1,12 +1,16 @@
 package battle;
 
+import battle.actions.ActionCode;
 import battle.actions.BattleAction;
 import battle.actions.BattleResult;
+import battle.ai.EnemyForecast;
+import battle.event.BattleListener;
+import battle.replay.BattleJournal;
 import characters.*;
-import spells.Spell;
 import scenes.ui.DevLogOverlay;
 import util.DeveloperLogger;
 import util.PlayerLogger;
+import util.Rng;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,11 +19,15 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
+import static util.DeveloperLogger.Category.BATTLE;
+
 @Getter
 public class TurnManager {
 
     private final Player player;
     private final Enemy enemy;
+    private final BattleState state;
+    private BattleJournal journal;
 
     private Consumer<BattleResult> onBattleEnd;
     @Setter
@@ -27,8 +35,10 @@ public class TurnManager {
 
     @Setter
     private boolean battleOver = false;
+    /** Off for bot / headless sessions: no narrator subscribes and the dev overlay is left alone. */
+    @Setter
+    private boolean narrated = true;
     private final AtomicBoolean finished = new AtomicBoolean(false);
-    private volatile boolean playerFled = false;
     @Getter
     private BattleResult result;
     ;
@@ -42,121 +52,120 @@ public class TurnManager {
     public TurnManager(Player player, Enemy enemy) {
         this.player = player;
         this.enemy = enemy;
+        this.state = new BattleState(player, enemy, Rng.fromEntropy());
     }
 
     public void startBattle() {
         try {
             runLoop();
         } catch (Throwable t) {
-            DeveloperLogger.log(
-                    "[TurnManager] UNCAUGHT EXCEPTION – battle thread died:\n" +
-                            t.getClass().getSimpleName() + ": " + t.getMessage());
+            DeveloperLogger.error(BATTLE, "UNCAUGHT EXCEPTION – battle thread died:\n{}: {}",
+                    t.getClass().getSimpleName(), t.getMessage());
             t.printStackTrace();
         }
     }
 
     public void queuePlayerAction(BattleAction action) {
         boolean ok = playerActionQueue.offer(action);
-        DeveloperLogger.log(
-                ok ? "[TurnManager] Queued " + action.name()
-                        : "[TurnManager] Queue FULL – click ignored");
-    }
-
-    public void onPlayerFlee() {
-        playerFled = true;
-        battleOver = true;
-    }
-
-    private void tickCooldowns() {
-        for (Spell s : player.getSpellsEquipped()) {
-            if (s != null) s.tickCooldown();
-        }
-        for (Spell s : enemy.getSpellsEquipped()) {
-            if (s != null) s.tickCooldown();
+        if (ok) {
+            DeveloperLogger.debug(BATTLE, "Queued {}", action.name());
+        } else {
+            DeveloperLogger.debug(BATTLE, "Queue FULL – click ignored");
         }
     }
 
     private void runLoop() {
         if (promptCallback != null) {
-            DeveloperLogger.log("[TurnManager] Showing INITIAL prompt");
+            DeveloperLogger.debug(BATTLE, "Showing INITIAL prompt");
             promptCallback.run();
         }
 
-        PlayerLogger.log("\n         The battle begins!");
-        DeveloperLogger.log("[TurnManager] battleOver=" + battleOver);
-        DeveloperLogger.log("loop entered");
+        journal = BattleJournal.begin(state);
+        if (narrated) {
+            state.subscribe(new Narrator());
+            PlayerLogger.log("\n         The battle begins!");
+        }
+        DeveloperLogger.debug(BATTLE, "battleOver={}", battleOver);
+        DeveloperLogger.debug(BATTLE, "loop entered");
 
-        while (player.isAlive() && enemy.isAlive() && !battleOver) {
+        while (!state.isOver() && !battleOver) {
             playerActionQueue.clear();
+            // Cooldowns tick before the prompt, so the menu offers what is ready this turn
+            BattleEngine.beginTurn(state);
 
             if (promptCallback != null) {
-                DeveloperLogger.log("[TurnManager] Running promptCallback");
+                DeveloperLogger.debug(BATTLE, "Running promptCallback");
                 promptCallback.run();
             }
 
-            tickCooldowns();
-
+            // The enemy's pick doesn't depend on ours, so start on it while the player thinks
+            EnemyForecast forecast = EnemyForecast.start(state);
             BattleAction playerAction;
             try {
-                DeveloperLogger.log("[TurnManager] Waiting… queue size=" + playerActionQueue.size());
+                DeveloperLogger.debug(BATTLE, "Waiting… queue size={}", playerActionQueue.size());
                 playerAction = playerActionQueue.take();
-                DeveloperLogger.log("[TurnManager] …got " + playerAction.getClass().getSimpleName());
+                DeveloperLogger.debug(BATTLE, "…got {}", playerAction.name());
             } catch (InterruptedException e) {
-                DeveloperLogger.log("[TurnManager] Battle interrupted");
+                forecast.cancel();
+                DeveloperLogger.info(BATTLE, "Battle interrupted");
                 return;
             }
 
-            BattleAction enemyAction = enemy.getAiRole().play(enemy, player);
-
-            boolean playerFirst = player.getStat(StatsType.SPEED) > enemy.getStat(StatsType.SPEED)
-                    || (player.getStat(StatsType.SPEED) == enemy.getStat(StatsType.SPEED) && Math.random() < 0.5);
-
-            if (playerFirst) {
-                execute(player, playerAction);
-                if (enemy.isAlive() && !battleOver) {
-                    execute(enemy, enemyAction);
-                }
-            } else {
-                execute(enemy, enemyAction);
-                if (player.isAlive() && !battleOver) {
-                    execute(player, playerAction);
-                }
+            int playerCode = playerAction.code();
+            int enemyCode;
+            try {
+                enemyCode = forecast.await(state);
+            } catch (InterruptedException e) {
+                forecast.cancel();
+                DeveloperLogger.info(BATTLE, "Battle interrupted");
+                return;
             }
+            if (enemyCode < 0) enemyCode = enemy.getBehaviour().decide(enemy, player);
 
-            player.tickStatusEffects();
-            enemy.tickStatusEffects();
+            journal.record(playerCode, enemyCode);
+            BattleEngine.resolveTurn(state, playerCode, enemyCode);
 
-            if (!battleOver && player.isAlive() && enemy.isAlive()) {
+            if (!state.isOver() && !battleOver) {
                 if (promptCallback != null) {
-                    DeveloperLogger.log("[TurnManager] Re-displaying prompt after actions");
+                    DeveloperLogger.debug(BATTLE, "Re-displaying prompt after actions");
                     promptCallback.run();
                 }
             }
 
-            DevLogOverlay.clearLog();
+            if (narrated) DevLogOverlay.clearLog();
         }
 
-        if (!player.isAlive()) {
-            result = BattleResult.DEFEAT;
-        } else if (!enemy.isAlive()) {
-            result = BattleResult.VICTORY;
-        } else if (battleOver) {
+        result = state.getResult();
+        if (result == null && battleOver) {
             result = BattleResult.FLED;
         }
 
         if (onBattleEnd != null) onBattleEnd.accept(result);
     }
 
-    private void execute(Entity actor, BattleAction action) {
-        PlayerLogger.logBlocking("\n         " + actor.getName() + " uses " + action.name());
-        action.execute();
+    /* ── Narration: turns engine events into text ─────────────── */
+
+    private final class Narrator implements BattleListener {
 
-        DeveloperLogger.log("[TurnManager] After action: "
-                + player.getName() + " HP=" + player.getStat(StatsType.HP)
-                + ", " + enemy.getName() + " HP=" + enemy.getStat(StatsType.HP));
+        @Override
+        public void onAction(Entity actor, int code, Entity target) {
+            PlayerLogger.logBlocking("\n         " + actor.getName() + " uses " + ActionCode.describe(code, actor));
+        }
+
+        @Override
+        public void onFleeAttempt(Entity actor, boolean success) {
+            PlayerLogger.log(success ? "✅ Successfully fled!" : "❌ Couldn't escape!");
+        }
+
+        @Override
+        public void onBoostExpired(Entity target, StatsType stat, int amount) {
+            PlayerLogger.log("         " + target.getName() + "'s " + stat + " boost wore off.");
+        }
 
-        if (!player.isAlive() || !enemy.isAlive()) {
-            battleOver = true;
+        @Override
+        public void onDamage(Entity source, Entity target, int amount) {
+            DeveloperLogger.debug(BATTLE, "{} took {}: {} HP={}, {} HP={}", target.getName(), amount,
+                    player.getName(), player.getStat(StatsType.HP), enemy.getName(), enemy.getStat(StatsType.HP));
         }
     }
 }
@@ -0,0 +1,80 @@
+package battle.actions;
+
+import characters.Entity;
+import items.consumables.Consumable;
+import spells.Spell;
+
+/**
+ * Battle actions encoded as small ints, so the engine and the AI can pass decisions around
+ * without allocating an action object per turn.
+ * <pre>
+ *   0      attack
+ *   1      flee
+ *   2..4   cast spell in slot 0..2
+ *   5..7   use consumable in slot 0..2
+ * </pre>
+ */
+public final class ActionCode {
+
+    public static final int SLOTS = 3;
+
+    public static final int ATTACK = 0;
+    public static final int FLEE = 1;
+    private static final int SPELL_BASE = 2;
+    private static final int ITEM_BASE = SPELL_BASE + SLOTS;
+    public static final int COUNT = ITEM_BASE + SLOTS;
+
+    public static int spell(int slot) {
+        return SPELL_BASE + slot;
+    }
+
+    public static int item(int slot) {
+        return ITEM_BASE + slot;
+    }
+
+    public static boolean isSpell(int code) {
+        return code >= SPELL_BASE && code < ITEM_BASE;
+    }
+
+    public static boolean isItem(int code) {
+        return code >= ITEM_BASE && code < COUNT;
+    }
+
+    public static int slot(int code) {
+        return isSpell(code) ? code - SPELL_BASE : code - ITEM_BASE;
+    }
+
+    /**
+     * Display name, matching {@link BattleAction#name()}. Call it before the action runs:
+     * a used consumable is gone from its slot afterwards.
+     */
+    public static String describe(int code, Entity actor) {
+        if (code == ATTACK) return "Attack";
+        if (code == FLEE) return "Flee";
+        if (isSpell(code)) {
+            Spell s = actor.getSpellsEquipped()[slot(code)];
+            return "Cast " + (s != null ? s.getName() : "nothing");
+        }
+        Consumable c = actor.getConsumablesEquipped()[slot(code)];
+        return "Use " + (c != null ? c.getName() : "nothing");
+    }
+
+    /**
+     * Object form of a decision, for callers that still want a {@link BattleAction}.
+     */
+    public static BattleAction toAction(int code, Entity actor, Entity target) {
+        if (code == FLEE) return new FleeAction(actor);
+        if (isSpell(code)) return new CastSpellAction(actor, actor.getSpellsEquipped()[slot(code)], target);
+        if (isItem(code)) return new UseItemAction(actor, actor.getConsumablesEquipped()[slot(code)]);
+        return new AttackAction(actor, target);
+    }
+
+    static int slotOf(Object[] slots, Object o) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == o) return i;
+        }
+        throw new IllegalArgumentException(o + " is not equipped");
+    }
+
+    private ActionCode() { /* constants */ }
+}
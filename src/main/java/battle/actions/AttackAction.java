@@ -1,6 +1,5 @@
 package battle.actions;
 
-import battle.BattleSystem;
 import characters.Entity;
 
 public class AttackAction implements BattleAction {
@@ -18,7 +17,7 @@ public class AttackAction implements BattleAction {
     }
 
     @Override
-    public void execute() {
-        BattleSystem.attack(attacker, target);
+    public int code() {
+        return ActionCode.ATTACK;
     }
 }
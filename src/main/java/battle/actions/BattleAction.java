@@ -3,7 +3,7 @@ package battle.actions;
 public interface BattleAction {
     String name();         // For displaying/logging
 
-    void execute();        // Actually perform the action
+    int code();            // Same action as an ActionCode, for the engine
 }
 
 
@@ -1,6 +1,5 @@
 package battle.actions;
 
-import battle.BattleSystem;
 import characters.Entity;
 import spells.Spell;
 
@@ -21,8 +20,7 @@ public class CastSpellAction implements BattleAction {
     }
 
     @Override
-    public void execute() {
-        BattleSystem.castSpell(caster, spell, target);
-        spell.setOnCooldown();
+    public int code() {
+        return ActionCode.spell(ActionCode.slotOf(caster.getSpellsEquipped(), spell));
     }
 }
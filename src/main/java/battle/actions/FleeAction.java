@@ -1,17 +1,12 @@
 package battle.actions;
 
-import battle.TurnManager;
 import characters.Entity;
-import util.DeveloperLogger;
-import util.PlayerLogger;
 
 public class FleeAction implements BattleAction {
     private final Entity player;
-    private final TurnManager manager;
 
-    public FleeAction(Entity player, TurnManager manager) {
+    public FleeAction(Entity player) {
         this.player = player;
-        this.manager = manager;
     }
 
     @Override
@@ -20,12 +15,7 @@ public class FleeAction implements BattleAction {
     }
 
     @Override
-    public void execute() {
-        if (Math.random() < 0.5) {
-            PlayerLogger.log("✅ Successfully fled!");
-            manager.onPlayerFlee();              // <-- new helper
-        } else {
-            PlayerLogger.log("❌ Couldn't escape!");
-        }
+    public int code() {
+        return ActionCode.FLEE;
     }
 }
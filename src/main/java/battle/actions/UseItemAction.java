@@ -18,15 +18,7 @@ public class UseItemAction implements BattleAction {
     }
 
     @Override
-    public void execute() {
-        item.use(user);
-
-        for (int i = 0; i < user.getConsumablesEquipped().length; i++) {
-            if (user.getConsumablesEquipped()[i] == item) {
-                user.getConsumablesEquipped()[i] = null;
-                break;
-            }
-        }
+    public int code() {
+        return ActionCode.item(ActionCode.slotOf(user.getConsumablesEquipped(), item));
     }
-
 }
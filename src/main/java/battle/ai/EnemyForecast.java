@@ -0,0 +1,71 @@
+package battle.ai;
+
+import battle.BattleEngine;
+import battle.BattleState;
+import characters.Enemy;
+import util.DeveloperLogger;
+import util.Rng;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * The enemy's next move, worked out on a fork of the battle while the player is still choosing.
+ * <p>
+ * Both sides pick their moves from the same state: the state just after {@link BattleEngine#beginTurn}.
+ * The enemy never sees what the player picked, so one forecast covers every player action and
+ * no per-action table is needed. Deterministic roles give exactly the answer a live call would.
+ * Search roles give an equally valid one, computed while the player is still thinking.
+ */
+public final class EnemyForecast {
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("enemy-forecast-", 0).factory());
+
+    private final int turn;
+    private final Future<Integer> decision;
+
+    private EnemyForecast(int turn, Future<Integer> decision) {
+        this.turn = turn;
+        this.decision = decision;
+    }
+
+    /**
+     * Call after {@link BattleEngine#beginTurn}, once the player has been prompted.
+     */
+    public static EnemyForecast start(BattleState state) {
+        // A decision doesn't draw from the battle RNG, so the fork's can be anything
+        BattleState fork = state.fork(new Rng(0));
+        return new EnemyForecast(state.getTurn(), EXECUTOR.submit(() -> {
+            Enemy e = fork.getEnemy();
+            return e.getBehaviour().decide(e, fork.getPlayer());
+        }));
+    }
+
+    /**
+     * Waits for the forecast if it is still running.
+     *
+     * @return the enemy's {@link battle.actions.ActionCode}, or -1 if the state has moved on
+     * or the forecast failed, in which case the caller decides live
+     */
+    public int await(BattleState state) throws InterruptedException {
+        if (state.getTurn() != turn) {
+            cancel();
+            return -1;
+        }
+        try {
+            return decision.get();
+        } catch (ExecutionException e) {
+            DeveloperLogger.warn(BATTLE, "Enemy forecast failed: {}", e.getCause());
+            return -1;
+        }
+    }
+
+    public void cancel() {
+        decision.cancel(true);
+    }
+}
@@ -0,0 +1,332 @@
+package battle.ai;
+
+import battle.BattleEngine;
+import battle.BattleSnapshot;
+import battle.BattleState;
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Entity;
+import characters.StatsType;
+import characters.TemporaryStatBoost;
+import items.consumables.Consumable;
+import spells.Spell;
+import util.Rng;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static characters.StatsType.HP;
+
+/**
+ * Exact win probability of a duel, and the player's best move, by expectimax over the real battle rules.
+ * <p>
+ * Damage is deterministic, so the only chance in a duel is the coin the engine flips for a SPEED tie and
+ * the one for a flee attempt. Each turn the player picks the best of its legal moves (a max node), the
+ * enemy plays its role (deterministic), and every outcome of the coins is weighed by its probability
+ * (chance nodes). The coins are the battle's own {@link Rng}: the solver steers it to each outcome in turn,
+ * so the turn itself is played by {@link BattleEngine}, as in any battle.
+ * <p>
+ * States are memoised in a transposition table keyed by everything that decides the rest of the fight:
+ * turn, stats, cooldowns, consumables left and boosts, with times relative to the entity's clock.
+ * A battle that reaches {@code maxTurns} counts as not won, as in the balance runs.
+ * One solver per thread; its table is reused across calls on states of the same duel.
+ */
+public final class ExpectimaxSolver {
+
+    /* Coins one turn may flip, with room to spare: a speed tie and a flee attempt */
+    private static final int MAX_COINS = 4;
+    private static final int STATS = StatsType.VALUES.length;
+
+    /**
+     * @param winProbability of a VICTORY (plus fleeValue times that of a FLED)
+     * @param bestMove       the player's {@link ActionCode} this turn; for a fixed policy, the policy's
+     * @param states         distinct states in the table so far
+     */
+    public record Solution(double winProbability, int bestMove, int states) {
+    }
+
+    private final int maxTurns;
+    private final double fleeValue;
+    private final int maxStates;
+    private final AIRole policy; // null: the player plays optimally
+
+    private final Map<Key, Entry> table = new HashMap<>();
+    private BattleState state;
+    private BattleSnapshot[] snapshots = new BattleSnapshot[0];
+    private int[][] moves = new int[0][];
+    private long[][] scores = new long[0][];
+    private final long[] steer = new long[1 << MAX_COINS];
+    private long steerGamma;
+
+    private record Entry(double value, int move) {
+    }
+
+    /**
+     * @param fleeValue what a successful flee is worth, between 0 (a loss) and 1 (a win)
+     * @param maxStates the table's limit; beyond it {@link #solve} gives up with an IllegalStateException
+     */
+    public ExpectimaxSolver(int maxTurns, double fleeValue, int maxStates) {
+        this(maxTurns, fleeValue, maxStates, null);
+    }
+
+    private ExpectimaxSolver(int maxTurns, double fleeValue, int maxStates, AIRole policy) {
+        if (policy == AIRole.STRATEGIST) throw new IllegalArgumentException("STRATEGIST is not deterministic");
+        this.maxTurns = maxTurns;
+        this.fleeValue = fleeValue;
+        this.maxStates = maxStates;
+        this.policy = policy;
+    }
+
+    /**
+     * A new solver with the same limits and the player held to {@code policy} instead of its best move,
+     * for measuring a heuristic against the optimum; {@code null} for the best move again.
+     */
+    public ExpectimaxSolver following(AIRole policy) {
+        return new ExpectimaxSolver(maxTurns, fleeValue, maxStates, policy);
+    }
+
+    /**
+     * Solves from {@code state}, between turns, and leaves it as it was.
+     *
+     * @throws IllegalArgumentException if the enemy's role is not deterministic
+     * @throws IllegalStateException    if the duel has more than {@code maxStates} states
+     */
+    public Solution solve(BattleState state) {
+        if (state.isOver()) throw new IllegalArgumentException("Battle is already over");
+        if (state.getEnemy().getBehaviour() == AIRole.STRATEGIST) {
+            throw new IllegalArgumentException(state.getEnemy().getName() + " plays STRATEGIST, which is not deterministic");
+        }
+        if (this.state != null && (this.state.getPlayer() != state.getPlayer() || this.state.getEnemy() != state.getEnemy())) {
+            table.clear(); // a different duel: keys only make sense for the same combatants
+        }
+        this.state = state;
+        steerFor(state.getRng().getGamma());
+
+        BattleSnapshot root = new BattleSnapshot();
+        root.capture(state);
+        long seed = state.getRng().getSeed();
+        Key k = key();
+        try {
+            double v = value(0);
+            Entry e = table.get(k); // none if the root is already at the turn limit
+            return new Solution(v, e != null ? e.move : ActionCode.ATTACK, table.size());
+        } finally {
+            root.restore(state);
+            state.getRng().setSeed(seed);
+        }
+    }
+
+    /** The best move in {@code state}, from the table if {@link #solve} has seen it. */
+    public int bestMove(BattleState state) {
+        return solve(state).bestMove;
+    }
+
+    /* ── Search ────────────────────────────────────────────────── */
+
+    /* A state between turns; leaves the state wherever the last line of play ended */
+    private double value(int depth) {
+        if (state.getTurn() >= maxTurns) return 0;
+        Key k = key();
+        Entry e = table.get(k);
+        if (e != null) return e.value;
+        if (table.size() >= maxStates) throw new IllegalStateException("More than " + maxStates + " states");
+
+        // Both sides pick once the turn has begun, as at the keyboard and in Duel: cooldowns ending now are ready
+        Entity player = state.getPlayer();
+        Enemy enemy = state.getEnemy();
+        ensureDepth(depth);
+        BattleEngine.beginTurn(state);
+        int[] options = moves[depth];
+        int n;
+        if (policy != null) {
+            options[0] = policy.decide(player, enemy);
+            n = 1;
+        } else {
+            n = legalMoves(player, options);
+        }
+        int enemyCode = enemy.getBehaviour().decide(enemy, player);
+        snapshots[depth].capture(state);
+        if (n > 1) order(options, n, enemyCode, depth);
+
+        int best = -1;
+        double bestValue = -1;
+        for (int i = 0; i < n && bestValue < 1; i++) { // nothing beats a sure win
+            double v = chance(options[i], enemyCode, depth, 0, 0);
+            if (v > bestValue) {
+                bestValue = v;
+                best = options[i];
+            }
+        }
+        table.put(k, new Entry(bestValue, best));
+        return bestValue;
+    }
+
+    /*
+     * Expected value of one turn with the first {@code len} coins fixed to {@code coins}. If the turn flips
+     * more coins than that, both sides of the next one are weighed at one half.
+     */
+    private double chance(int playerCode, int enemyCode, int depth, int coins, int len) {
+        snapshots[depth].restore(state);
+        Rng rng = state.getRng();
+        long start = steer[coins];
+        rng.setSeed(start);
+        BattleResult result = BattleEngine.resolveTurn(state, playerCode, enemyCode);
+        int flipped = flipped(start, rng.getSeed(), rng.getGamma());
+        if (flipped > len) {
+            if (len == MAX_COINS) throw new IllegalStateException("Turn flipped more than " + MAX_COINS + " coins");
+            return 0.5 * chance(playerCode, enemyCode, depth, coins, len + 1)
+                    + 0.5 * chance(playerCode, enemyCode, depth, coins | 1 << len, len + 1);
+        }
+        if (result == null) return value(depth + 1);
+        return switch (result) {
+            case VICTORY -> 1;
+            case DEFEAT -> 0;
+            case FLED -> fleeValue;
+        };
+    }
+
+    /*
+     * Greedy move ordering, so the sure-win cutoff comes early: one play of each move on the first
+     * coins, most damaging first. Exact either way; only the work differs.
+     */
+    private void order(int[] options, int n, int enemyCode, int depth) {
+        long[] score = scores[depth];
+        Entity player = state.getPlayer(), enemy = state.getEnemy();
+        for (int i = 0; i < n; i++) {
+            snapshots[depth].restore(state);
+            state.getRng().setSeed(steer[0]);
+            BattleResult r = BattleEngine.resolveTurn(state, options[i], enemyCode);
+            long margin = r == BattleResult.VICTORY ? Integer.MAX_VALUE
+                    : r == BattleResult.DEFEAT ? Integer.MIN_VALUE
+                    : (long) player.getStat(HP) - enemy.getStat(HP);
+            score[i] = margin << 8 | (ActionCode.COUNT - i); // earlier option first on ties
+        }
+        for (int i = 1; i < n; i++) { // insertion sort, best first
+            long sc = score[i];
+            int mv = options[i];
+            int j = i - 1;
+            for (; j >= 0 && score[j] < sc; j--) {
+                score[j + 1] = score[j];
+                options[j + 1] = options[j];
+            }
+            score[j + 1] = sc;
+            options[j + 1] = mv;
+        }
+    }
+
+    private static int flipped(long from, long to, long gamma) {
+        for (int n = 0; n <= MAX_COINS; n++) {
+            if (from + n * gamma == to) return n;
+        }
+        return MAX_COINS + 1;
+    }
+
+    private void ensureDepth(int depth) {
+        if (depth < snapshots.length) return;
+        int old = snapshots.length;
+        snapshots = Arrays.copyOf(snapshots, Math.max(16, depth * 2));
+        moves = Arrays.copyOf(moves, snapshots.length);
+        scores = Arrays.copyOf(scores, snapshots.length);
+        for (int i = old; i < snapshots.length; i++) {
+            snapshots[i] = new BattleSnapshot();
+            moves[i] = new int[ActionCode.COUNT];
+            scores[i] = new long[ActionCode.COUNT];
+        }
+    }
+
+    /** ATTACK, FLEE, ready spells and held consumables, in {@link ActionCode} order. */
+    static int legalMoves(Entity actor, int[] into) {
+        int n = 0;
+        into[n++] = ActionCode.ATTACK;
+        into[n++] = ActionCode.FLEE;
+        Spell[] spells = actor.getSpellsEquipped();
+        for (int i = 0; i < spells.length; i++) {
+            if (spells[i] != null && spells[i].isReady()) into[n++] = ActionCode.spell(i);
+        }
+        Consumable[] items = actor.getConsumablesEquipped();
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] != null) into[n++] = ActionCode.item(i);
+        }
+        return n;
+    }
+
+    /* ── Transposition key ─────────────────────────────────────── */
+
+    private static final class Key {
+        final int[] words;
+        final int hash;
+
+        Key(int[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && k.hash == hash && Arrays.equals(k.words, words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private Key key() {
+        Entity p = state.getPlayer(), e = state.getEnemy();
+        int[] w = new int[1 + size(p) + size(e)];
+        w[0] = state.getTurn();
+        put(e, w, put(p, w, 1));
+        return new Key(w);
+    }
+
+    private static int size(Entity e) {
+        return STATS + ActionCode.SLOTS + 1 + 3 * e.getTempBoosts().size();
+    }
+
+    /* Stats, cooldown left per slot, a bitmask of held consumables, then (stat, amount, turns left) per boost */
+    private static int put(Entity e, int[] w, int at) {
+        e.saveStats(w, at);
+        at += STATS;
+        int clock = e.getClock();
+        Spell[] spells = e.getSpellsEquipped();
+        for (int i = 0; i < ActionCode.SLOTS; i++) {
+            w[at++] = spells[i] == null ? -1 : Math.max(0, spells[i].getReadyAt() - clock);
+        }
+        int held = 0;
+        Consumable[] items = e.getConsumablesEquipped();
+        for (int i = 0; i < items.length; i++) if (items[i] != null) held |= 1 << i;
+        w[at++] = held;
+        List<TemporaryStatBoost> boosts = e.getTempBoosts();
+        for (TemporaryStatBoost b : boosts) {
+            w[at++] = b.getStat().ordinal();
+            w[at++] = b.getBoostAmount();
+            w[at++] = b.getExpiresAt() - clock;
+        }
+        return at;
+    }
+
+    /* ── Steering ──────────────────────────────────────────────── */
+
+    /* For each pattern of MAX_COINS coins (bit i = coin i), a seed whose next nextBoolean()s give it */
+    private void steerFor(long gamma) {
+        if (gamma == steerGamma) return; // gammas are odd, so never the initial 0
+        steerGamma = gamma;
+        for (int coins = 0; coins < steer.length; coins++) {
+            long s = 0;
+            while (!gives(s, gamma, coins)) s++;
+            steer[coins] = s;
+        }
+    }
+
+    private static boolean gives(long seed, long gamma, int coins) {
+        for (int i = 0; i < MAX_COINS; i++) {
+            if (Rng.booleanAt(seed + (i + 1) * gamma) != ((coins >> i & 1) != 0)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,250 @@
+package battle.ai;
+
+import battle.BattleEngine;
+import battle.BattleSnapshot;
+import battle.BattleState;
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import characters.Enemy;
+import characters.Entity;
+import spells.Spell;
+import util.Rng;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static characters.StatsType.HP;
+import static characters.StatsType.MAX_HP;
+
+/**
+ * Open-loop Monte Carlo tree search over the real battle rules, run under a wall-clock budget.
+ * <p>
+ * Called mid-turn, after cooldowns ticked and before actions resolve, like any {@code AIRole.decide}.
+ * Each worker gets a {@link BattleState#fork} of the fight and grows its own tree over our moves,
+ * sampling the opponent's move at every ply (root parallelism). Root visit counts are summed and the
+ * most visited move wins.
+ */
+public final class MctsPlanner {
+
+    private static final double EXPLORATION = 1.4;
+    private static final int ROLLOUT_TURNS = 30;
+
+    private static volatile long budgetMillis = Long.getLong("textadv.mcts.budgetMs", 150);
+    /* One tree per pool thread: a tree that waits for a thread would start after the deadline it must meet */
+    private static volatile ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public static void setBudgetMillis(long millis) {
+        budgetMillis = millis;
+    }
+
+    public static long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * @param parallelism number of independent trees searched at once, each on its own pool thread.
+     *                    Searches already running finish on the old pool, whose idle threads then time out.
+     */
+    public static void setParallelism(int parallelism) {
+        int n = Math.max(1, parallelism);
+        if (n != pool.getParallelism()) pool = new ForkJoinPool(n);
+    }
+
+    public static int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public static int decide(Entity self, Entity target) {
+        boolean selfIsEnemy = self instanceof Enemy;
+        if (!selfIsEnemy && !(target instanceof Enemy)) {
+            throw new IllegalArgumentException("MCTS needs one side to be an Enemy");
+        }
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        Rng seeds = Rng.fromEntropy();
+        ForkJoinPool pool = MctsPlanner.pool;
+
+        List<Callable<Node>> workers = new ArrayList<>();
+        for (int w = 0; w < pool.getParallelism(); w++) {
+            BattleState fork = selfIsEnemy
+                    ? new BattleState(target.copyForBattle(), ((Enemy) self).copyForBattle(), seeds.split())
+                    : new BattleState(self.copyForBattle(), ((Enemy) target).copyForBattle(), seeds.split());
+            workers.add(new Search(fork, selfIsEnemy, deadline)::run);
+        }
+
+        long[] visits = new long[ActionCode.COUNT];
+        try {
+            for (Future<Node> f : pool.invokeAll(workers)) {
+                Node root = f.get();
+                for (int a = 0; a < ActionCode.COUNT; a++) {
+                    if (root.children[a] != null) visits[a] += root.children[a].visits;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+
+        int best = ActionCode.ATTACK;
+        for (int a = 0; a < ActionCode.COUNT; a++) {
+            if (visits[a] > visits[best]) best = a;
+        }
+        return best;
+    }
+
+    /* ── Tree ─────────────────────────────────────────────────── */
+
+    private static final class Node {
+        final Node[] children = new Node[ActionCode.COUNT];
+        long visits;
+        double value;
+    }
+
+    /**
+     * One worker: owns its forked state, its RNG and its tree. Nothing here is shared.
+     */
+    private static final class Search {
+        private final BattleState sim;
+        private final boolean selfIsEnemy;
+        private final long deadline;
+        private final BattleSnapshot rootSnapshot = new BattleSnapshot();
+        private final Rng rng;
+        private final int[] legal = new int[ActionCode.COUNT];
+        private final Node[] path = new Node[ROLLOUT_TURNS + 1];
+
+        Search(BattleState sim, boolean selfIsEnemy, long deadline) {
+            this.sim = sim;
+            this.selfIsEnemy = selfIsEnemy;
+            this.deadline = deadline;
+            this.rng = sim.getRng().split();
+            rootSnapshot.capture(sim);
+        }
+
+        Node run() {
+            Node root = new Node();
+            do {
+                iterate(root);
+            } while (System.nanoTime() < deadline);
+            return root;
+        }
+
+        private void iterate(Node root) {
+            rootSnapshot.restore(sim);
+            sim.getRng().setSeed(rng.nextLong()); // fresh speed ties and flee rolls every iteration
+            Node node = root;
+            int depth = 0;
+            path[depth++] = root;
+            boolean expanded = false;
+            boolean firstPly = true;
+
+            // Selection / expansion: walk our moves down the tree, sampling the opponent each ply
+            while (!sim.isOver() && !expanded && depth < path.length) {
+                // The root is the caller's state, whose turn has begun: cooldowns already ticked for both sides
+                if (!firstPly) BattleEngine.beginTurn(sim);
+                firstPly = false;
+
+                int n = legalMoves(self(), selfIsEnemy);
+                int move = -1;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < n; i++) {
+                    Node child = node.children[legal[i]];
+                    if (child == null) {
+                        move = legal[i];
+                        break;
+                    }
+                    double score = child.value / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(node.visits) / child.visits);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        move = legal[i];
+                    }
+                }
+                if (node.children[move] == null) {
+                    node.children[move] = new Node();
+                    expanded = true;
+                }
+                node = node.children[move];
+                path[depth++] = node;
+                resolve(move, randomMove(other(), !selfIsEnemy));
+            }
+
+            // Rollout: both sides play uniformly random legal moves
+            for (int t = 0; t < ROLLOUT_TURNS && !sim.isOver(); t++) {
+                BattleEngine.beginTurn(sim);
+                resolve(randomMove(self(), selfIsEnemy), randomMove(other(), !selfIsEnemy));
+            }
+
+            double reward = evaluate();
+            for (int i = 0; i < depth; i++) {
+                path[i].visits++;
+                path[i].value += reward;
+            }
+        }
+
+        private void resolve(int selfMove, int otherMove) {
+            if (selfIsEnemy) {
+                BattleEngine.resolveTurn(sim, otherMove, selfMove);
+            } else {
+                BattleEngine.resolveTurn(sim, selfMove, otherMove);
+            }
+        }
+
+        /**
+         * 1 for a win, 0 for a loss, HP balance in between for unfinished rollouts.
+         * A successful flee counts as a loss for the enemy and a draw for the player.
+         */
+        private double evaluate() {
+            BattleResult result = sim.getResult();
+            if (result != null) {
+                return switch (result) {
+                    case VICTORY -> selfIsEnemy ? 0 : 1;
+                    case DEFEAT -> selfIsEnemy ? 1 : 0;
+                    case FLED -> selfIsEnemy ? 0 : 0.5;
+                };
+            }
+            double mine = hpFraction(self());
+            double theirs = hpFraction(other());
+            return 0.5 + 0.5 * (mine - theirs);
+        }
+
+        private Entity self() {
+            return selfIsEnemy ? sim.getEnemy() : sim.getPlayer();
+        }
+
+        private Entity other() {
+            return selfIsEnemy ? sim.getPlayer() : sim.getEnemy();
+        }
+
+        private int randomMove(Entity actor, boolean isEnemy) {
+            int n = legalMoves(actor, isEnemy);
+            return legal[rng.nextInt(n)];
+        }
+
+        /**
+         * Fills {@link #legal}; enemies never flee.
+         */
+        private int legalMoves(Entity actor, boolean isEnemy) {
+            int n = 0;
+            legal[n++] = ActionCode.ATTACK;
+            if (!isEnemy) legal[n++] = ActionCode.FLEE;
+            Spell[] spells = actor.getSpellsEquipped();
+            for (int i = 0; i < spells.length; i++) {
+                if (spells[i] != null && spells[i].isReady()) legal[n++] = ActionCode.spell(i);
+            }
+            for (int i = 0; i < actor.getConsumablesEquipped().length; i++) {
+                if (actor.getConsumablesEquipped()[i] != null) legal[n++] = ActionCode.item(i);
+            }
+            return n;
+        }
+
+        private static double hpFraction(Entity e) {
+            return Math.max(0, e.getStat(HP)) / (double) Math.max(1, e.getStat(MAX_HP));
+        }
+    }
+
+    private MctsPlanner() { /* utility */ }
+}
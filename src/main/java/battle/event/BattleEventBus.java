@@ -0,0 +1,87 @@
+package battle.event;
+
+import battle.BattleState;
+import battle.actions.BattleResult;
+import characters.Entity;
+import characters.StatsType;
+import items.consumables.Consumable;
+import spells.Spell;
+
+import java.util.Arrays;
+
+/**
+ * Fans events out to every subscriber, in subscription order.
+ * Subscribe before the battle starts; the array is not guarded for concurrent changes.
+ */
+public final class BattleEventBus implements BattleListener {
+
+    private BattleListener[] listeners = new BattleListener[0];
+
+    public void subscribe(BattleListener l) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = l;
+    }
+
+    public void unsubscribe(BattleListener l) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == l) {
+                BattleListener[] next = new BattleListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, next, 0, i);
+                System.arraycopy(listeners, i + 1, next, i, next.length - i);
+                listeners = next;
+                return;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /* ── Dispatch ──────────────────────────────────────────────── */
+
+    @Override
+    public void onAction(Entity actor, int code, Entity target) {
+        for (BattleListener l : listeners) l.onAction(actor, code, target);
+    }
+
+    @Override
+    public void onDamage(Entity source, Entity target, int amount) {
+        for (BattleListener l : listeners) l.onDamage(source, target, amount);
+    }
+
+    @Override
+    public void onSpellCast(Entity caster, Spell spell, Entity target) {
+        for (BattleListener l : listeners) l.onSpellCast(caster, spell, target);
+    }
+
+    @Override
+    public void onCooldownStarted(Entity caster, Spell spell) {
+        for (BattleListener l : listeners) l.onCooldownStarted(caster, spell);
+    }
+
+    @Override
+    public void onItemUsed(Entity user, Consumable item) {
+        for (BattleListener l : listeners) l.onItemUsed(user, item);
+    }
+
+    @Override
+    public void onBoostApplied(Entity target, StatsType stat, int amount, int turns) {
+        for (BattleListener l : listeners) l.onBoostApplied(target, stat, amount, turns);
+    }
+
+    @Override
+    public void onBoostExpired(Entity target, StatsType stat, int amount) {
+        for (BattleListener l : listeners) l.onBoostExpired(target, stat, amount);
+    }
+
+    @Override
+    public void onFleeAttempt(Entity actor, boolean success) {
+        for (BattleListener l : listeners) l.onFleeAttempt(actor, success);
+    }
+
+    @Override
+    public void onBattleEnded(BattleState state, BattleResult result) {
+        for (BattleListener l : listeners) l.onBattleEnded(state, result);
+    }
+}
@@ -0,0 +1,38 @@
+package battle.event;
+
+import battle.BattleState;
+import battle.actions.BattleResult;
+import characters.Entity;
+import characters.StatsType;
+import items.consumables.Consumable;
+import spells.Spell;
+
+/**
+ * Typed battle events, one callback per kind.
+ * <p>
+ * Arguments are the live objects, so nothing is allocated or formatted
+ * unless a subscriber decides to. Every method defaults to a no-op;
+ * override only what you need. Callbacks run on the battle's own thread.
+ */
+public interface BattleListener {
+
+    /** {@code actor} is about to run {@code code} (see {@link battle.actions.ActionCode}). */
+    default void onAction(Entity actor, int code, Entity target) { }
+
+    /** Negative when the target's defense out-scaled the hit. */
+    default void onDamage(Entity source, Entity target, int amount) { }
+
+    default void onSpellCast(Entity caster, Spell spell, Entity target) { }
+
+    default void onCooldownStarted(Entity caster, Spell spell) { }
+
+    default void onItemUsed(Entity user, Consumable item) { }
+
+    default void onBoostApplied(Entity target, StatsType stat, int amount, int turns) { }
+
+    default void onBoostExpired(Entity target, StatsType stat, int amount) { }
+
+    default void onFleeAttempt(Entity actor, boolean success) { }
+
+    default void onBattleEnded(BattleState state, BattleResult result) { }
+}
@@ -0,0 +1,25 @@
+package battle.formula;
+
+import characters.Entity;
+
+/**
+ * A compiled content formula. Inputs are passed as arguments, so one instance is shared by every
+ * thread and an evaluation allocates nothing.
+ *
+ * @see FormulaCompiler for the variables a formula can read
+ */
+@FunctionalInterface
+public interface Formula {
+
+    /**
+     * @param base    the content number: weapon or spell damage, potion or enhancer points
+     * @param scaling the weapon's damage stat as the actor has it, 0 if none
+     * @param affinity the spell's {@link spells.ElementalAffinity} multiplier against the target, 1 otherwise
+     */
+    double eval(Entity actor, Entity target, double base, double scaling, double affinity);
+
+    /** Evaluates and truncates toward zero, like the int arithmetic it replaces. */
+    default int evalInt(Entity actor, Entity target, double base, double scaling, double affinity) {
+        return (int) eval(actor, target, base, scaling, affinity);
+    }
+}
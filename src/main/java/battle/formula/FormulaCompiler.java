@@ -0,0 +1,291 @@
+package battle.formula;
+
+import characters.Entity;
+import characters.StatsType;
+
+import java.util.Locale;
+
+/**
+ * Parses a formula such as {@code "(base + actor.INTELLIGENCE) * affinity"} once and
+ * compiles it to a tree of small lambdas. Constant sub-expressions are folded at compile time.
+ * <p>
+ * Grammar: numbers, {@code + - * /}, unary minus, parentheses and the functions
+ * {@code min(a, b)}, {@code max(a, b)}, {@code abs(a)}, {@code floor(a)} and {@code if(cond, a, b)}
+ * (cond is true when non-zero). Variables:
+ * <ul>
+ *   <li>{@code base}, {@code scaling}, {@code affinity}: see {@link Formula#eval}</li>
+ *   <li>{@code weak}: 1 when {@code affinity} is above 1, else 0</li>
+ *   <li>{@code actor.X} / {@code target.X}, where X is a {@link StatsType} name, {@code damage}
+ *       (effective attack damage), {@code defense} (effective defense) or {@code level}</li>
+ * </ul>
+ */
+public final class FormulaCompiler {
+
+    private static final int ALL_STATS = (1 << StatsType.VALUES.length) - 1;
+
+    private final String src;
+    private final String[] defines;
+    private int pos;
+    private int statsRead;
+
+    private FormulaCompiler(String src, String[] defines) {
+        this.src = src;
+        this.defines = defines;
+    }
+
+    /**
+     * A compiled formula and the stats it reads, for callers that cache its value.
+     *
+     * @param statsRead {@link StatsType}s read from either side, as a bitmask of ordinals.
+     *                  {@code damage}, {@code defense} and {@code level} count as every stat
+     */
+    public record Compiled(Formula formula, int statsRead) {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text does not parse or names an unknown variable
+     */
+    public static Formula compile(String src) {
+        return compileTracked(src).formula();
+    }
+
+    /**
+     * {@link #compile}, also reporting which stats the formula reads.
+     *
+     * @param defines the entity values ({@code damage}, {@code defense}) this formula is used to compute,
+     *                which it therefore cannot read on either side
+     */
+    public static Compiled compileTracked(String src, String... defines) {
+        FormulaCompiler c = new FormulaCompiler(src, defines);
+        Node n = c.expression();
+        c.skipSpace();
+        if (c.pos < src.length()) throw c.error("unexpected '" + src.charAt(c.pos) + "'");
+        return new Compiled(n.formula, c.statsRead);
+    }
+
+    /* ── Parser ────────────────────────────────────────────────── */
+
+    /* A compiled node, plus its value when it is a constant so parents can fold it */
+    private record Node(Formula formula, boolean constant, double value) {
+        static Node of(Formula f) {
+            return new Node(f, false, 0);
+        }
+
+        static Node constant(double v) {
+            return new Node((a, t, b, s, w) -> v, true, v);
+        }
+    }
+
+    private Node expression() {
+        Node left = term();
+        while (true) {
+            if (eat('+')) left = add(left, term());
+            else if (eat('-')) left = subtract(left, term());
+            else return left;
+        }
+    }
+
+    private Node term() {
+        Node left = unary();
+        while (true) {
+            if (eat('*')) left = multiply(left, unary());
+            else if (eat('/')) left = divide(left, unary());
+            else return left;
+        }
+    }
+
+    private Node unary() {
+        if (eat('-')) {
+            Node n = unary();
+            if (n.constant) return Node.constant(-n.value);
+            Formula f = n.formula;
+            return Node.of((a, t, b, s, w) -> -f.eval(a, t, b, s, w));
+        }
+        return primary();
+    }
+
+    private Node primary() {
+        skipSpace();
+        if (eat('(')) {
+            Node n = expression();
+            expect(')');
+            return n;
+        }
+        if (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+            int start = pos;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) pos++;
+            return Node.constant(Double.parseDouble(src.substring(start, pos)));
+        }
+        String name = identifier();
+        skipSpace();
+        if (pos < src.length() && src.charAt(pos) == '(') {
+            pos++;
+            return function(name);
+        }
+        return Node.of(variable(name));
+    }
+
+    private Node function(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "min" -> {
+                Node x = expression();
+                expect(',');
+                Node y = expression();
+                expect(')');
+                return binary(x, y, Math::min);
+            }
+            case "max" -> {
+                Node x = expression();
+                expect(',');
+                Node y = expression();
+                expect(')');
+                return binary(x, y, Math::max);
+            }
+            case "abs" -> {
+                Node x = expression();
+                expect(')');
+                if (x.constant) return Node.constant(Math.abs(x.value));
+                Formula f = x.formula;
+                return Node.of((a, t, b, s, w) -> Math.abs(f.eval(a, t, b, s, w)));
+            }
+            case "floor" -> {
+                Node x = expression();
+                expect(')');
+                if (x.constant) return Node.constant(Math.floor(x.value));
+                Formula f = x.formula;
+                return Node.of((a, t, b, s, w) -> Math.floor(f.eval(a, t, b, s, w)));
+            }
+            case "if" -> {
+                Node c = expression();
+                expect(',');
+                Node x = expression();
+                expect(',');
+                Node y = expression();
+                expect(')');
+                if (c.constant) return c.value != 0 ? x : y;
+                Formula fc = c.formula, fx = x.formula, fy = y.formula;
+                return Node.of((a, t, b, s, w) -> fc.eval(a, t, b, s, w) != 0
+                        ? fx.eval(a, t, b, s, w) : fy.eval(a, t, b, s, w));
+            }
+            default -> throw error("unknown function " + name);
+        }
+    }
+
+    private Formula variable(String name) {
+        switch (name) {
+            case "base":
+                return (a, t, b, s, w) -> b;
+            case "scaling":
+                return (a, t, b, s, w) -> s;
+            case "affinity":
+                return (a, t, b, s, w) -> w;
+            case "weak":
+                return (a, t, b, s, w) -> w > 1 ? 1 : 0;
+        }
+        int dot = name.indexOf('.');
+        if (dot < 0) throw error("unknown variable " + name);
+        String who = name.substring(0, dot);
+        String what = name.substring(dot + 1);
+        boolean actor;
+        if (who.equals("actor")) actor = true;
+        else if (who.equals("target")) actor = false;
+        else throw error("unknown variable " + name);
+
+        for (String d : defines) {
+            if (d.equals(what)) throw error("cannot read " + name + ", it is computed with this formula");
+        }
+        switch (what) {
+            case "damage":
+                statsRead = ALL_STATS;
+                return actor ? (a, t, b, s, w) -> a.getEffectiveDamage() : (a, t, b, s, w) -> t.getEffectiveDamage();
+            case "defense":
+                statsRead = ALL_STATS;
+                return actor ? (a, t, b, s, w) -> a.getEffectiveDefense() : (a, t, b, s, w) -> t.getEffectiveDefense();
+            case "level":
+                statsRead = ALL_STATS;
+                return actor ? (a, t, b, s, w) -> a.getLevel() : (a, t, b, s, w) -> t.getLevel();
+        }
+        StatsType stat;
+        try {
+            stat = StatsType.valueOf(what.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error("unknown variable " + name);
+        }
+        statsRead |= 1 << stat.ordinal();
+        return actor ? (a, t, b, s, w) -> a.getStat(stat) : (a, t, b, s, w) -> t.getStat(stat);
+    }
+
+    /* ── Folding combinators ───────────────────────────────────── */
+
+    private interface Op {
+        double apply(double x, double y);
+    }
+
+    private static Node binary(Node x, Node y, Op op) {
+        if (x.constant && y.constant) return Node.constant(op.apply(x.value, y.value));
+        Formula fx = x.formula, fy = y.formula;
+        return Node.of((a, t, b, s, w) -> op.apply(fx.eval(a, t, b, s, w), fy.eval(a, t, b, s, w)));
+    }
+
+    /* The four operators get their own lambdas so the hot path has no Op indirection */
+
+    private static Node add(Node x, Node y) {
+        if (x.constant && y.constant) return Node.constant(x.value + y.value);
+        Formula fx = x.formula, fy = y.formula;
+        return Node.of((a, t, b, s, w) -> fx.eval(a, t, b, s, w) + fy.eval(a, t, b, s, w));
+    }
+
+    private static Node subtract(Node x, Node y) {
+        if (x.constant && y.constant) return Node.constant(x.value - y.value);
+        Formula fx = x.formula, fy = y.formula;
+        return Node.of((a, t, b, s, w) -> fx.eval(a, t, b, s, w) - fy.eval(a, t, b, s, w));
+    }
+
+    private static Node multiply(Node x, Node y) {
+        if (x.constant && y.constant) return Node.constant(x.value * y.value);
+        Formula fx = x.formula, fy = y.formula;
+        return Node.of((a, t, b, s, w) -> fx.eval(a, t, b, s, w) * fy.eval(a, t, b, s, w));
+    }
+
+    private static Node divide(Node x, Node y) {
+        if (x.constant && y.constant) return Node.constant(x.value / y.value);
+        Formula fx = x.formula, fy = y.formula;
+        return Node.of((a, t, b, s, w) -> fx.eval(a, t, b, s, w) / fy.eval(a, t, b, s, w));
+    }
+
+    /* ── Lexing ────────────────────────────────────────────────── */
+
+    private String identifier() {
+        skipSpace();
+        int start = pos;
+        while (pos < src.length()
+                && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_' || src.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error(pos < src.length() ? "unexpected '" + src.charAt(pos) + "'" : "unexpected end");
+        }
+        return src.substring(start, pos);
+    }
+
+    private boolean eat(char c) {
+        skipSpace();
+        if (pos < src.length() && src.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!eat(c)) throw error("expected '" + c + "'");
+    }
+
+    private void skipSpace() {
+        while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String msg) {
+        return new IllegalArgumentException("Formula \"" + src + "\" at " + pos + ": " + msg);
+    }
+}
@@ -0,0 +1,71 @@
+package battle.formula;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import util.DeveloperLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static util.DeveloperLogger.Category.REGISTRY;
+
+/**
+ * The game's damage and effect rules, read from {@code /items/formulas.json} and compiled once
+ * at startup. Point {@code -Dtextadv.formulas} at another file to rebalance without a rebuild.
+ * The fields are constants, so the JIT can inline a whole formula into its caller.
+ * <ul>
+ *   <li>{@code weaponDamage}: a weapon's hit before defense; base = weapon damage, scaling = its stat.
+ *       It defines {@code damage} and cannot read {@code damage} or {@code defense}</li>
+ *   <li>{@code attack}: damage dealt by a plain attack</li>
+ *   <li>{@code spell}: damage dealt by a spell; base = spell damage, affinity = elemental multiplier</li>
+ *   <li>{@code potion}: the drinker's new HP; base = potion points</li>
+ *   <li>{@code boost}: a stat enhancer's bonus; base = enhancer points</li>
+ * </ul>
+ */
+public final class Formulas {
+
+    public static final Formula WEAPON_DAMAGE;
+    /** Stats the weaponDamage formula reads, as a {@link FormulaCompiler.Compiled#statsRead} bitmask. */
+    public static final int WEAPON_DAMAGE_STATS;
+    public static final Formula ATTACK;
+    public static final Formula SPELL;
+    public static final Formula POTION;
+    public static final Formula BOOST;
+
+    static {
+        Map<String, String> src = read();
+        // Damage and defense are refreshed together, so reading either would recurse
+        FormulaCompiler.Compiled weaponDamage = compile(src, "weaponDamage", "damage", "defense");
+        WEAPON_DAMAGE = weaponDamage.formula();
+        WEAPON_DAMAGE_STATS = weaponDamage.statsRead();
+        ATTACK = compile(src, "attack").formula();
+        SPELL = compile(src, "spell").formula();
+        POTION = compile(src, "potion").formula();
+        BOOST = compile(src, "boost").formula();
+        DeveloperLogger.info(REGISTRY, "✅ Compiled {} formulas.", src.size());
+    }
+
+    private static Map<String, String> read() {
+        String override = System.getProperty("textadv.formulas");
+        try (InputStream in = override != null
+                ? Files.newInputStream(Path.of(override))
+                : Formulas.class.getResourceAsStream("/items/formulas.json")) {
+            if (in == null) throw new IOException("formulas.json not found in resources");
+            return new ObjectMapper().readValue(in, new TypeReference<Map<String, String>>() { });
+        } catch (IOException e) {
+            DeveloperLogger.error(REGISTRY, "❌ Failed to load formulas: {}", e.getMessage());
+            throw new RuntimeException("Failed to load formulas", e);
+        }
+    }
+
+    private static FormulaCompiler.Compiled compile(Map<String, String> src, String key, String... defines) {
+        String text = src.get(key);
+        if (text == null) throw new IllegalStateException("Missing formula: " + key);
+        return FormulaCompiler.compileTracked(text, defines);
+    }
+
+    private Formulas() { /* utility */ }
+}
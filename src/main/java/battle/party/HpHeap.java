@@ -0,0 +1,90 @@
+package battle.party;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of combatant indices: lower HP first, lower index on a tie. Keys live in an
+ * array shared with the owner, who changes one key at a time and then calls {@link #changed}; each
+ * combatant knows its slot, so an update or a removal is O(log n) and nothing is searched.
+ */
+final class HpHeap {
+
+    private final int[] heap;
+    private final int[] slot; // slot[c]: c's place in heap, -1 when absent
+    private final int[] hp;
+    private int size;
+
+    HpHeap(int capacity, int[] hp) {
+        this.heap = new int[capacity];
+        this.slot = new int[capacity];
+        this.hp = hp;
+        Arrays.fill(slot, -1);
+    }
+
+    void add(int c) {
+        heap[size] = c;
+        slot[c] = size;
+        up(size++);
+    }
+
+    void remove(int c) {
+        int i = slot[c];
+        if (i < 0) return;
+        slot[c] = -1;
+        int last = heap[--size];
+        if (i == size) return;
+        heap[i] = last;
+        slot[last] = i;
+        up(i);
+        down(slot[last]);
+    }
+
+    /** Restores the order after {@code c}'s key changed; a no-op if {@code c} is not here. */
+    void changed(int c) {
+        int i = slot[c];
+        if (i < 0) return;
+        up(i);
+        down(slot[c]);
+    }
+
+    /**
+     * @return the lowest-HP combatant, or -1 when empty
+     */
+    int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    private void up(int i) {
+        int c = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(c, heap[parent])) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(c, i);
+    }
+
+    private void down(int i) {
+        int c = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], c)) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(c, i);
+    }
+
+    private void place(int c, int i) {
+        heap[i] = c;
+        slot[c] = i;
+    }
+
+    private boolean before(int a, int b) {
+        if (hp[a] != hp[b]) return hp[a] < hp[b];
+        return a < b;
+    }
+}
@@ -0,0 +1,66 @@
+package battle.party;
+
+/**
+ * Binary max-heap of combatant indices: higher SPEED acts first, equal SPEED goes to the
+ * lower tie-break seed. Keys are taken at {@link #push}, so a SPEED change mid-round
+ * counts from the next round. Arrays are sized once; nothing is allocated per round.
+ */
+final class InitiativeQueue {
+
+    private final int[] heap;
+    private final int[] speed;
+    private final long[] tieBreak;
+    private int size;
+
+    InitiativeQueue(int capacity) {
+        heap = new int[capacity];
+        speed = new int[capacity];
+        tieBreak = new long[capacity];
+    }
+
+    void push(int combatant, int spd, long seed) {
+        speed[combatant] = spd;
+        tieBreak[combatant] = seed;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(combatant, heap[parent])) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = combatant;
+    }
+
+    /**
+     * @return the next combatant to act, or -1 when the round is done
+     */
+    int poll() {
+        if (size == 0) return -1;
+        int top = heap[0];
+        int last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], last)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private boolean before(int a, int b) {
+        if (speed[a] != speed[b]) return speed[a] > speed[b];
+        return tieBreak[a] < tieBreak[b];
+    }
+}
@@ -0,0 +1,107 @@
+package battle.party;
+
+import battle.actions.BattleResult;
+import characters.AIRole;
+import characters.Behaviour;
+import characters.Enemy;
+import characters.Entity;
+import characters.FoeIndex;
+import lombok.AccessLevel;
+import lombok.Getter;
+import util.Rng;
+
+import java.util.List;
+
+/**
+ * A party against a horde. Combatants sit in one array, heroes first, so a side is an index range.
+ * Each side's standing combatants are also kept ordered by HP ({@link FoeIndex}), so targeting scans
+ * nobody. Each combatant has a {@link Behaviour} that picks its target and its action: heroes are
+ * given an {@link AIRole}, enemies bring their own.
+ */
+@Getter
+public class PartyBattleState {
+
+    private final Entity[] combatants;
+    private final Behaviour[] roles;
+    private final int heroCount;
+    private final Rng rng;
+
+    private int round = 0;
+    private boolean fled = false;
+    /* Living count per side, kept by the engine as combatants fall, so isOver() is O(1) */
+    private int heroesStanding;
+    private int foesStanding;
+
+    @Getter(AccessLevel.NONE)
+    final InitiativeQueue initiative;
+    @Getter(AccessLevel.NONE)
+    final TargetIndex targets;
+
+    /**
+     * @param heroRoles one role per hero, driving its target and action choice
+     */
+    public PartyBattleState(List<? extends Entity> heroes, List<AIRole> heroRoles, List<? extends Enemy> foes, Rng rng) {
+        if (heroes.size() != heroRoles.size()) {
+            throw new IllegalArgumentException("One role per hero expected");
+        }
+        int n = heroes.size() + foes.size();
+        this.combatants = new Entity[n];
+        this.roles = new Behaviour[n];
+        this.heroCount = heroes.size();
+        this.rng = rng;
+        for (int i = 0; i < heroCount; i++) {
+            combatants[i] = heroes.get(i);
+            roles[i] = heroRoles.get(i);
+            if (combatants[i].isAlive()) heroesStanding++;
+        }
+        for (int i = 0; i < foes.size(); i++) {
+            Enemy e = foes.get(i);
+            combatants[heroCount + i] = e;
+            roles[heroCount + i] = e.getBehaviour();
+            if (e.isAlive()) foesStanding++;
+        }
+        this.initiative = new InitiativeQueue(n);
+        this.targets = new TargetIndex(combatants, heroCount);
+    }
+
+    public int size() {
+        return combatants.length;
+    }
+
+    public boolean isHero(int i) {
+        return i < heroCount;
+    }
+
+    /** {@code i}'s standing opponents, weakest first. */
+    public FoeIndex foesOf(int i) {
+        return targets.foesOf(i);
+    }
+
+    public boolean isOver() {
+        return fled || heroesStanding == 0 || foesStanding == 0;
+    }
+
+    /**
+     * @return the final result from the party's side, or {@code null} while the battle is still running
+     */
+    public BattleResult getResult() {
+        if (heroesStanding == 0) return BattleResult.DEFEAT;
+        if (foesStanding == 0) return BattleResult.VICTORY;
+        if (fled) return BattleResult.FLED;
+        return null;
+    }
+
+    void markFled() {
+        fled = true;
+    }
+
+    void fell(int i) {
+        if (isHero(i)) heroesStanding--;
+        else foesStanding--;
+        targets.remove(i);
+    }
+
+    void endRound() {
+        round++;
+    }
+}
@@ -0,0 +1,86 @@
+package battle.party;
+
+import battle.BattleSystem;
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import characters.Behaviour;
+import characters.Entity;
+
+import static characters.StatsType.SPEED;
+
+/**
+ * Headless rounds for {@link PartyBattleState}: every standing combatant acts once per round,
+ * in initiative order. Building the round is one heap push per combatant and each action one
+ * pop, a target peek and the re-filing of the two HPs it changed, so a round costs O(n log n)
+ * and a single action O(log n).
+ */
+public final class PartyEngine {
+
+    /**
+     * Plays one full round.
+     *
+     * @return the final result, or {@code null} if the battle goes on
+     */
+    public static BattleResult playRound(PartyBattleState state) {
+        if (state.isOver()) {
+            throw new IllegalStateException("Battle is already over");
+        }
+        Entity[] all = state.getCombatants();
+        InitiativeQueue queue = state.initiative;
+        queue.clear();
+        for (int i = 0; i < all.length; i++) {
+            Entity c = all[i];
+            if (!c.isAlive()) continue;
+            c.startTurn();
+            queue.push(i, c.getStat(SPEED), state.getRng().nextLong());
+        }
+
+        while (!state.isOver()) {
+            int actor = queue.poll();
+            if (actor < 0) break;
+            if (all[actor].isAlive()) act(state, actor);
+        }
+
+        for (int i = 0; i < all.length; i++) {
+            if (!all[i].isAlive()) continue;
+            all[i].tickStatusEffects();
+            state.targets.update(i); // an expiring boost can move HP
+        }
+        state.endRound();
+        return state.getResult();
+    }
+
+    public static BattleResult playToEnd(PartyBattleState state, int maxRounds) {
+        BattleResult result = state.getResult();
+        while (result == null && state.getRound() < maxRounds) {
+            result = playRound(state);
+        }
+        return result;
+    }
+
+    private static void act(PartyBattleState state, int actor) {
+        Entity self = state.getCombatants()[actor];
+        Behaviour role = state.getRoles()[actor];
+        int target = role.chooseTarget(self, state.foesOf(actor));
+        if (target < 0) return;
+
+        Entity foe = state.getCombatants()[target];
+        int code = role.decide(self, foe);
+        if (code == ActionCode.ATTACK) {
+            BattleSystem.attack(self, foe);
+        } else if (code == ActionCode.FLEE) {
+            // Only the party can run, and one success takes everyone along
+            if (state.isHero(actor) && state.getRng().nextBoolean()) state.markFled();
+        } else if (ActionCode.isSpell(code)) {
+            BattleSystem.castSpell(self, self.getSpellsEquipped()[ActionCode.slot(code)], foe);
+        } else {
+            BattleSystem.useItem(self, ActionCode.slot(code));
+        }
+
+        state.targets.update(actor); // potions heal, absorbed spells heal the target
+        if (foe.isAlive()) state.targets.update(target);
+        else state.fell(target);
+    }
+
+    private PartyEngine() { /* utility */ }
+}
@@ -0,0 +1,106 @@
+package battle.party;
+
+import characters.Entity;
+import characters.FoeIndex;
+import spells.ElementalType;
+
+import static characters.StatsType.HP;
+
+/**
+ * Both sides' standing combatants as {@link HpHeap}s: one for the side and one per elemental weakness,
+ * so "weakest foe" and "weakest foe this spell exploits" are a peek each. The engine files a combatant's
+ * HP after every action that can change it, and takes it out when it falls.
+ */
+final class TargetIndex {
+
+    private static final ElementalType[] KINDS = ElementalType.values();
+
+    private final Entity[] combatants;
+    private final int heroCount;
+    /* HP and weakness as last filed, per combatant */
+    private final int[] hp;
+    private final int[] kind;
+    /* [side][0] the whole side, [side][1 + kind] those weak to kind */
+    private final HpHeap[][] heaps = new HpHeap[2][1 + KINDS.length];
+    private final Side[] sides = {new Side(0), new Side(1)};
+
+    TargetIndex(Entity[] combatants, int heroCount) {
+        this.combatants = combatants;
+        this.heroCount = heroCount;
+        int n = combatants.length;
+        this.hp = new int[n];
+        this.kind = new int[n];
+        for (HpHeap[] side : heaps) {
+            for (int k = 0; k < side.length; k++) side[k] = new HpHeap(n, hp);
+        }
+        for (int c = 0; c < n; c++) {
+            if (!combatants[c].isAlive()) continue;
+            hp[c] = combatants[c].getStat(HP);
+            kind[c] = combatants[c].getElementalWeakness().ordinal();
+            heaps[side(c)][0].add(c);
+            heaps[side(c)][1 + kind[c]].add(c);
+        }
+    }
+
+    /** The opponents of combatant {@code c}. */
+    FoeIndex foesOf(int c) {
+        return sides[1 - side(c)];
+    }
+
+    /** Re-files {@code c} after its HP (or weakness) may have changed; a fallen combatant leaves the index. */
+    void update(int c) {
+        Entity e = combatants[c];
+        if (!e.isAlive()) {
+            remove(c);
+            return;
+        }
+        HpHeap[] side = heaps[side(c)];
+        int k = e.getElementalWeakness().ordinal();
+        if (k != kind[c]) {
+            side[1 + kind[c]].remove(c);
+            hp[c] = e.getStat(HP);
+            kind[c] = k;
+            side[1 + k].add(c);
+            side[0].changed(c);
+            return;
+        }
+        int now = e.getStat(HP);
+        if (now == hp[c]) return;
+        hp[c] = now;
+        side[0].changed(c);
+        side[1 + k].changed(c);
+    }
+
+    void remove(int c) {
+        HpHeap[] side = heaps[side(c)];
+        side[0].remove(c);
+        side[1 + kind[c]].remove(c);
+    }
+
+    private int side(int c) {
+        return c < heroCount ? 0 : 1;
+    }
+
+    private final class Side implements FoeIndex {
+        private final HpHeap[] own;
+
+        Side(int s) {
+            this.own = heaps[s];
+        }
+
+        @Override
+        public Entity get(int i) {
+            return combatants[i];
+        }
+
+        @Override
+        public int weakest() {
+            return own[0].peek();
+        }
+
+        @Override
+        public int weakest(ElementalType k) {
+            return own[1 + k.ordinal()].peek();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package battle.replay;
+
+import battle.BattleState;
+import characters.Enemy;
+import characters.Entity;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Compact binary record of one battle: the RNG state, both combatants as they entered,
+ * and one byte per turn holding both {@link battle.actions.ActionCode}s.
+ * A typical duel is well under half a kilobyte.
+ * <pre>
+ *   int    magic "TAJ2"
+ *   long   rng seed, long rng gamma
+ *   bytes  player block, enemy block   (see EntityCodec)
+ *   int    turn count
+ *   byte[] turns: player code | enemy code << 4
+ * </pre>
+ */
+public final class BattleJournal {
+
+    private static final int MAGIC = 0x54414A32; // "TAJ2": base stats, boosts as modifiers
+
+    private final long seed;
+    private final long gamma;
+    private final byte[] combatants;
+    private byte[] turns = new byte[32];
+    private int turnCount;
+
+    private BattleJournal(long seed, long gamma, byte[] combatants) {
+        this.seed = seed;
+        this.gamma = gamma;
+        this.combatants = combatants;
+    }
+
+    /**
+     * Snapshot a battle that has not played its first turn yet.
+     */
+    public static BattleJournal begin(BattleState state) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            EntityCodec.write(out, state.getPlayer());
+            EntityCodec.write(out, state.getEnemy());
+            return new BattleJournal(state.getRng().getSeed(), state.getRng().getGamma(), bytes.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream, cannot happen
+        }
+    }
+
+    public void record(int playerCode, int enemyCode) {
+        if (turnCount == turns.length) turns = Arrays.copyOf(turns, turnCount * 2);
+        turns[turnCount++] = (byte) (playerCode | enemyCode << 4);
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int playerCode(int turn) {
+        return turns[turn] & 0x0F;
+    }
+
+    public int enemyCode(int turn) {
+        return (turns[turn] >> 4) & 0x0F;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * Fresh copies of both combatants, as they were when {@link #begin} was called.
+     */
+    Entity[] rebuildCombatants() {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(combatants));
+            Entity player = EntityCodec.read(in);
+            Enemy enemy = (Enemy) EntityCodec.read(in);
+            return new Entity[]{player, enemy};
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal", e);
+        }
+    }
+
+    /* ── Persistence ──────────────────────────────────────────── */
+
+    public void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeLong(seed);
+        out.writeLong(gamma);
+        out.writeShort(combatants.length);
+        out.write(combatants);
+        out.writeInt(turnCount);
+        out.write(turns, 0, turnCount);
+        out.flush();
+    }
+
+    public static BattleJournal readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) throw new IOException("Not a battle journal");
+        long seed = in.readLong();
+        long gamma = in.readLong();
+        byte[] combatants = new byte[in.readUnsignedShort()];
+        in.readFully(combatants);
+        BattleJournal journal = new BattleJournal(seed, gamma, combatants);
+        journal.turnCount = in.readInt();
+        journal.turns = new byte[Math.max(journal.turnCount, 1)];
+        in.readFully(journal.turns, 0, journal.turnCount);
+        return journal;
+    }
+
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writeTo(out);
+        }
+    }
+
+    public static BattleJournal load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return readFrom(in);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package battle.replay;
+
+import battle.BattleEngine;
+import battle.BattleState;
+import battle.actions.BattleResult;
+import characters.Enemy;
+import characters.Entity;
+import util.Rng;
+
+/**
+ * Re-runs a {@link BattleJournal} through {@link BattleEngine}, one recorded turn per {@link #step()}.
+ * Enemy moves come from the journal, not from the AI, so the replay stays exact even for
+ * non-deterministic roles.
+ */
+public class BattleReplayer {
+
+    private final BattleJournal journal;
+    private final BattleState state;
+    private int next = 0;
+
+    public BattleReplayer(BattleJournal journal) {
+        this.journal = journal;
+        Entity[] combatants = journal.rebuildCombatants();
+        this.state = new BattleState(combatants[0], (Enemy) combatants[1],
+                Rng.resume(journal.getSeed(), journal.getGamma()));
+    }
+
+    public boolean hasNext() {
+        return next < journal.getTurnCount() && !state.isOver();
+    }
+
+    public BattleResult step() {
+        BattleEngine.beginTurn(state);
+        BattleResult result = BattleEngine.resolveTurn(state, journal.playerCode(next), journal.enemyCode(next));
+        next++;
+        return result;
+    }
+
+    /**
+     * Plays every remaining turn.
+     *
+     * @return the final result, or {@code null} if the journal stops mid-battle
+     */
+    public BattleResult playToEnd() {
+        BattleResult result = state.getResult();
+        while (hasNext()) result = step();
+        return result;
+    }
+
+    public BattleState getState() {
+        return state;
+    }
+
+    public int getTurnsPlayed() {
+        return next;
+    }
+}
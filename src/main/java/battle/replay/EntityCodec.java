@@ -0,0 +1,98 @@
+package battle.replay;
+
+import characters.*;
+import items.Item;
+import items.equip.Armor;
+import items.equip.Weapon;
+import spells.ElementalType;
+import spells.Spell;
+import spells.SpellType;
+import util.ItemRegistry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Binary form of an {@link Entity} as it stands at the start of a battle.
+ * Items are stored by registry id, enums by ordinal; -1 / "" mean an empty slot.
+ */
+final class EntityCodec {
+
+    private static final byte PLAYER = 0;
+    private static final byte ENEMY = 1;
+
+    static void write(DataOutput out, Entity e) throws IOException {
+        boolean isPlayer = e instanceof Player;
+        out.writeByte(isPlayer ? PLAYER : ENEMY);
+        out.writeUTF(e.getName());
+        StatsType boost = isPlayer ? ((Player) e).getStatBoost() : ((Enemy) e).getStatBoost();
+        out.writeByte(boost != null ? boost.ordinal() : -1);
+        out.writeByte(isPlayer ? -1 : ((Enemy) e).getAiRole().ordinal());
+        out.writeShort(e.getLevel());
+        out.writeByte(e.getElementalWeakness().ordinal());
+        for (StatsType t : StatsType.VALUES) out.writeInt(e.getBaseStat(t));
+
+        out.writeUTF(idOf(e.getWeapon()));
+        out.writeUTF(idOf(e.getArmor()));
+        for (Spell s : e.getSpellsEquipped()) {
+            out.writeByte(s != null ? s.getName().ordinal() : -1);
+            out.writeByte(s != null ? e.cooldownLeft(s) : 0);
+        }
+        for (Item c : e.getConsumablesEquipped()) out.writeUTF(idOf(c));
+
+        out.writeByte(e.getTempBoosts().size());
+        for (TemporaryStatBoost b : e.getTempBoosts()) {
+            out.writeByte(b.getStat().ordinal());
+            out.writeInt(b.getBoostAmount());
+            out.writeInt(b.getExpiresAt() - e.getClock());
+        }
+    }
+
+    static Entity read(DataInput in) throws IOException {
+        byte kind = in.readByte();
+        String name = in.readUTF();
+        byte boostOrdinal = in.readByte();
+        StatsType boost = boostOrdinal >= 0 ? StatsType.VALUES[boostOrdinal] : null;
+        byte roleOrdinal = in.readByte();
+        int level = in.readShort();
+        ElementalType weakness = ElementalType.values()[in.readByte()];
+
+        Entity e = kind == PLAYER
+                ? new Player(name, boost, weakness)
+                : new Enemy(name, boost, level, new ArrayList<>(), 0, 0, AIRole.values()[roleOrdinal]);
+        e.setLevel(level);
+        e.setElementalWeakness(weakness);
+        for (StatsType t : StatsType.VALUES) e.setStat(t, in.readInt());
+
+        e.setWeapon((Weapon) lookup(in.readUTF()));
+        e.setArmor((Armor) lookup(in.readUTF()));
+        for (int i = 0; i < e.getSpellsEquipped().length; i++) {
+            byte type = in.readByte();
+            int cooldown = in.readByte();
+            e.equipSpell(i, type >= 0 ? SpellType.values()[type] : null);
+            if (type >= 0) e.getSpellsEquipped()[i].setReadyAt(cooldown); // fresh clock is 0
+        }
+        for (int i = 0; i < e.getConsumablesEquipped().length; i++) {
+            e.getConsumablesEquipped()[i] = (items.consumables.Consumable) lookup(in.readUTF());
+        }
+
+        int boosts = in.readByte();
+        for (int i = 0; i < boosts; i++) {
+            TemporaryStatBoost.resume(e, StatsType.VALUES[in.readByte()], in.readInt(), in.readInt());
+        }
+        e.restoreClock(0);
+        return e;
+    }
+
+    private static String idOf(Item item) {
+        return item != null ? item.getId() : "";
+    }
+
+    private static Item lookup(String id) {
+        return id.isEmpty() ? null : ItemRegistry.getItemById(id);
+    }
+
+    private EntityCodec() { /* utility */ }
+}
@@ -0,0 +1,120 @@
+package battle.stats;
+
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import spells.SpellType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static battle.stats.BattleStatsStore.*;
+
+/**
+ * Aggregates over a {@link BattleStatsStore}. Each query is one pass over the mapped rows, a segment
+ * per task on the common pool, into primitive counters that are summed at the end; nothing per row
+ * reaches the heap. Rows appended while a query runs may or may not be counted.
+ */
+public final class BattleStatsQuery {
+
+    private static final int WIN = BattleResult.VICTORY.ordinal() + 1;
+    private static final SpellType[] SPELL_TYPES = SpellType.values();
+
+    /** Battles whose player level was in {@code [from, to]}. */
+    public record LevelBand(int from, int to, long battles, long wins) {
+        public double winRate() {
+            return battles == 0 ? 0 : (double) wins / battles;
+        }
+    }
+
+    /** The spell cast most against one enemy, over all its battles. */
+    public record TopSpell(SpellType spell, long casts) {
+    }
+
+    private final BattleStatsStore store;
+
+    public BattleStatsQuery(BattleStatsStore store) {
+        this.store = store;
+    }
+
+    public long count() {
+        return store.count();
+    }
+
+    /**
+     * Win rate per band of {@code width} levels, starting at level 1; only bands with battles.
+     */
+    public List<LevelBand> winRateByLevelBand(int width) {
+        if (width < 1) throw new IllegalArgumentException("Band width must be at least 1");
+        long[] totals = scan(() -> new long[2 * (Short.MAX_VALUE / width + 1)], (seg, rows, acc) -> {
+            for (int i = 0; i < rows; i++) {
+                int at = i * ROW;
+                int band = Math.max(0, seg.getShort(at + LEVEL) - 1) / width;
+                acc[2 * band]++;
+                if (seg.get(at + RESULT) == WIN) acc[2 * band + 1]++;
+            }
+        });
+        List<LevelBand> bands = new ArrayList<>();
+        for (int b = 0; 2 * b < totals.length; b++) {
+            if (totals[2 * b] > 0) bands.add(new LevelBand(b * width + 1, (b + 1) * width, totals[2 * b], totals[2 * b + 1]));
+        }
+        return bands;
+    }
+
+    /**
+     * For each enemy, the spell the player cast most often against it: every spell action counts
+     * for whatever spell sat in that slot during the battle.
+     */
+    public Map<String, TopSpell> mostUsedSpellByEnemy() {
+        List<String> names = store.names();
+        int spells = SPELL_TYPES.length;
+        long[] casts = scan(() -> new long[names.size() * spells], (seg, rows, acc) -> {
+            for (int i = 0; i < rows; i++) {
+                int at = i * ROW;
+                int base = seg.getShort(at + ENEMY) * spells;
+                if (base >= acc.length) continue; // name added after this query started
+                for (int k = 0; k < ActionCode.SLOTS; k++) {
+                    int type = seg.get(at + SPELLS + k);
+                    if (type != 0) acc[base + type - 1] += seg.get(at + ACTIONS + ActionCode.spell(k)) & 0xFF;
+                }
+            }
+        });
+        Map<String, TopSpell> top = new LinkedHashMap<>();
+        for (int e = 0; e < names.size(); e++) {
+            int best = -1;
+            for (int s = 0; s < spells; s++) {
+                if (casts[e * spells + s] > 0 && (best < 0 || casts[e * spells + s] > casts[e * spells + best])) best = s;
+            }
+            if (best >= 0) top.put(names.get(e), new TopSpell(SPELL_TYPES[best], casts[e * spells + best]));
+        }
+        return top;
+    }
+
+    /* ── Scanning ──────────────────────────────────────────────── */
+
+    @FunctionalInterface
+    private interface SegmentScan {
+        /** Folds rows {@code [0, rows)} of {@code seg} into {@code acc}. */
+        void scan(ByteBuffer seg, int rows, long[] acc);
+    }
+
+    private long[] scan(Supplier<long[]> zero, SegmentScan body) {
+        int segments = store.segmentCount();
+        IntFunction<long[]> part = s -> {
+            long[] acc = zero.get();
+            body.scan(store.segment(s), store.rowsIn(s), acc);
+            return acc;
+        };
+        BinaryOperator<long[]> sum = (a, b) -> {
+            for (int i = 0; i < a.length; i++) a[i] += b[i];
+            return a;
+        };
+        return IntStream.range(0, segments).parallel().mapToObj(part).reduce(sum).orElseGet(zero);
+    }
+}
@@ -0,0 +1,307 @@
+package battle.stats;
+
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import spells.Spell;
+import util.DeveloperLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static util.DeveloperLogger.Category.SAVE;
+
+/**
+ * Every finished battle as one fixed-width row in an append-only, memory-mapped file, so hundreds of
+ * millions of rows can be scanned without ever being on the heap. Enemy names live in a
+ * {@code .names} file next to it, one per line; a row holds the line number.
+ * <pre>
+ *   header (64 bytes): int magic "TAS2", int row size, long committed rows
+ *   row (32 bytes):
+ *     0  int    epoch seconds          12 int    damage dealt
+ *     4  short  enemy name index       16 int    damage taken
+ *     6  short  player level           20 byte[3] spell per slot, SpellType ordinal + 1 (0 = empty)
+ *     8  byte   result, 0 = timeout    23 byte   flags, bit 0 = simulated
+ *     9  byte   (reserved)             24 byte[8] player's uses of each ActionCode, capped at 255
+ *    10  short  turns
+ * </pre>
+ * Everything is big-endian, like {@link battle.replay.BattleJournal}, so a file reads the same on any
+ * machine; "TAS1" files held rows in the writer's native order and are refused.
+ * Rows are written first and the header count bumped after, so a crash mid-append loses the
+ * torn rows only. One process writes a file at a time; {@link #open} takes a file lock.
+ */
+public final class BattleStatsStore implements AutoCloseable {
+
+    static final int MAGIC = 0x54415332; // "TAS2"
+    static final int OLD_MAGIC = 0x54415331; // "TAS1", native byte order
+    static final int HEADER = 64;
+    static final int ROW = 32;
+    /* Mapped a segment at a time; a multiple of ROW, so a row never straddles two */
+    static final int SEGMENT = 1 << 26;
+    static final int ROWS_PER_SEGMENT = SEGMENT / ROW;
+    /* The writer's first mapping of a segment; it doubles as rows come, so the file stays near its rows */
+    static final int GROW = 1 << 16;
+
+    /* Row layout */
+    static final int TIME = 0, ENEMY = 4, LEVEL = 6, RESULT = 8, TURNS = 10, DEALT = 12, TAKEN = 16,
+            SPELLS = 20, FLAGS = 23, ACTIONS = 24;
+    static final int SIMULATED = 1;
+
+    private static BattleStatsStore shared;
+    private static boolean sharedTried;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private long count;
+
+    private BattleStatsStore(Path file, FileChannel channel, FileLock lock) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.lock = lock;
+        if (lock == null && channel.size() < HEADER) throw new IOException(file + " is empty");
+        this.header = channel.map(lock != null ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, HEADER);
+        if (header.getInt(0) == 0) {
+            if (lock == null) throw new IOException(file + " is empty");
+            header.putInt(0, MAGIC).putInt(4, ROW).putLong(8, 0);
+        } else if (header.getInt(0) == OLD_MAGIC) {
+            throw new IOException(file + " is from an older version, move it aside to start a new one");
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != ROW) {
+            throw new IOException(file + " is not a battle stats file");
+        }
+        count = header.getLong(8);
+        Path namesFile = namesFile();
+        if (Files.exists(namesFile)) {
+            for (String n : Files.readAllLines(namesFile, StandardCharsets.UTF_8)) {
+                codes.put(n, names.size());
+                names.add(n);
+            }
+        }
+    }
+
+    /**
+     * Opens (or creates) a store for appending and querying.
+     *
+     * @throws IOException if it is not a stats file, or another process is writing to it
+     */
+    public static BattleStatsStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock lock = ch.tryLock();
+        if (lock == null) {
+            ch.close();
+            throw new IOException(file + " is being written by another process");
+        }
+        try {
+            return new BattleStatsStore(file, ch, lock);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Opens an existing store for queries only; rows appended later by the writer are not seen. */
+    public static BattleStatsStore openReadOnly(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new BattleStatsStore(file, ch, null);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The game's own store, {@code ~/.textadv/stats/battles.tas} unless {@code -Dtextadv.stats} says
+     * otherwise; null if it can't be opened, so a locked or broken file never stops a battle.
+     */
+    public static synchronized BattleStatsStore shared() {
+        if (!sharedTried) {
+            sharedTried = true;
+            String override = System.getProperty("textadv.stats");
+            Path file = override != null ? Path.of(override)
+                    : Path.of(System.getProperty("user.home"), ".textadv", "stats", "battles.tas");
+            try {
+                shared = open(file);
+                Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+            } catch (IOException e) {
+                DeveloperLogger.error(SAVE, "Battle stats off: {}", e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    /* ── Appending ─────────────────────────────────────────────── */
+
+    /**
+     * A local buffer of rows for one thread, written to the store in one go when full or closed.
+     */
+    public Appender appender() {
+        return new Appender(256);
+    }
+
+    public final class Appender implements AutoCloseable {
+        private final ByteBuffer buf;
+
+        private Appender(int rows) {
+            buf = ByteBuffer.allocate(rows * ROW);
+        }
+
+        /**
+         * @param result  null for a battle stopped at the turn limit
+         * @param spells  the player's equipped spells, by slot
+         * @param actions how often the player used each {@link ActionCode}
+         */
+        public void add(String enemy, int level, BattleResult result, int turns, int dealt, int taken,
+                        Spell[] spells, int[] actions, boolean simulated) {
+            if (!buf.hasRemaining()) flush();
+            int at = buf.position();
+            buf.putInt(at + TIME, (int) (System.currentTimeMillis() / 1000))
+                    .putShort(at + ENEMY, (short) code(enemy))
+                    .putShort(at + LEVEL, (short) level)
+                    .put(at + RESULT, (byte) (result == null ? 0 : result.ordinal() + 1))
+                    .put(at + 9, (byte) 0)
+                    .putShort(at + TURNS, (short) Math.min(turns, Short.MAX_VALUE))
+                    .putInt(at + DEALT, dealt)
+                    .putInt(at + TAKEN, taken)
+                    .put(at + FLAGS, (byte) (simulated ? SIMULATED : 0));
+            for (int k = 0; k < ActionCode.SLOTS; k++) {
+                Spell s = k < spells.length ? spells[k] : null;
+                buf.put(at + SPELLS + k, (byte) (s == null ? 0 : s.getName().ordinal() + 1));
+            }
+            for (int c = 0; c < ActionCode.COUNT; c++) {
+                buf.put(at + ACTIONS + c, (byte) Math.min(actions[c], 255));
+            }
+            buf.position(at + ROW);
+        }
+
+        public void flush() {
+            buf.flip();
+            write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+
+    private synchronized void write(ByteBuffer rows) {
+        if (lock == null) throw new IllegalStateException(file + " is open read-only");
+        try {
+            while (rows.hasRemaining()) {
+                int at = (int) (count % ROWS_PER_SEGMENT) * ROW;
+                int n = Math.min(rows.remaining(), SEGMENT - at);
+                MappedByteBuffer seg = mapped((int) (count / ROWS_PER_SEGMENT), at + n);
+                seg.put(at, rows, rows.position(), n);
+                rows.position(rows.position() + n);
+                count += n / ROW;
+            }
+            header.putLong(8, count); // commit
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized int code(String enemy) {
+        Integer c = codes.get(enemy);
+        if (c != null) return c;
+        if (names.size() > Short.MAX_VALUE) throw new IllegalStateException("Too many enemy names in " + file);
+        try {
+            // The name is on disk before any row can point at it
+            Files.writeString(namesFile(), enemy + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        codes.put(enemy, names.size());
+        names.add(enemy);
+        return names.size() - 1;
+    }
+
+    /* ── Reading ───────────────────────────────────────────────── */
+
+    synchronized int segmentCount() {
+        return (int) ((count + ROWS_PER_SEGMENT - 1) / ROWS_PER_SEGMENT);
+    }
+
+    /** Rows of segment {@code s} as of now. */
+    synchronized int rowsIn(int s) {
+        return (int) Math.min(ROWS_PER_SEGMENT, count - (long) s * ROWS_PER_SEGMENT);
+    }
+
+    synchronized ByteBuffer segment(int s) {
+        try {
+            return mapped(s, rowsIn(s) * ROW).duplicate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Segment {@code s}, at least its first {@code bytes}. The writer maps read-write, growing the file
+     * by doubling the mapping (buffers already handed out stay valid); a reader maps what is there.
+     */
+    private MappedByteBuffer mapped(int s, int bytes) throws IOException {
+        while (segments.size() <= s) segments.add(null);
+        MappedByteBuffer seg = segments.get(s);
+        if (seg == null || (lock != null && seg.capacity() < bytes)) {
+            long from = HEADER + (long) s * SEGMENT;
+            if (lock != null) {
+                int size = seg == null ? GROW : seg.capacity();
+                while (size < bytes) size <<= 1;
+                seg = channel.map(FileChannel.MapMode.READ_WRITE, from, Math.min(size, SEGMENT));
+            } else {
+                seg = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(SEGMENT, channel.size() - from));
+            }
+            segments.set(s, seg);
+        }
+        return seg;
+    }
+
+    synchronized List<String> names() {
+        return List.copyOf(names);
+    }
+
+    private Path namesFile() {
+        return file.resolveSibling(file.getFileName() + ".names");
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (lock != null) {
+                for (MappedByteBuffer seg : segments) if (seg != null) seg.force();
+                header.force();
+                lock.release();
+            }
+            channel.close();
+        } catch (IOException e) {
+            DeveloperLogger.error(SAVE, "Closing {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,121 +1,60 @@
 package characters;
 
 import battle.actions.*;
-import items.consumables.Consumable;
-import items.consumables.Potion;
-import items.consumables.StatEnhancer;
-import spells.ElementalType;
-import spells.Spell;
-
-import java.util.Arrays;
-
-import static characters.StatsType.HP;
-
-public enum AIRole {
-
-    BERSERKER {
-        @Override
-        public BattleAction play(Entity self, Entity target) {
-            return new AttackAction(self, target);
-        }
-    },
-
-    MAGE {
+import battle.ai.MctsPlanner;
+
+/**
+ * Enemy behaviours. The deterministic roles are declared in {@code /ai/behaviours.json} and run as
+ * compiled {@link DecisionTable}s; {@link #decide} is the engine path and allocates nothing.
+ */
+public enum AIRole implements Behaviour {
+
+    BERSERKER,
+    MAGE,
+    MAGE_BOOSTER,
+    MAGE_HEALER,
+    FIGHTER_HEALER,
+    FIGHTER_BOOSTER,
+
+    /**
+     * Searches the real battle rules (cooldowns and consumables included) with Monte Carlo tree search,
+     * in parallel, for {@link MctsPlanner#getBudgetMillis()} per turn. Gets stronger on faster hardware.
+     */
+    STRATEGIST {
         @Override
-        public BattleAction play(Entity self, Entity target) {
-            return resolveSpellAction(self, target);
-        }
-    },
-    MAGE_BOOSTER {
-        @Override
-        public BattleAction play(Entity self, Entity target) {
-            Consumable enhancer = Arrays.stream(self.getConsumablesEquipped())
-                    .filter(c -> c instanceof StatEnhancer)
-                    .findFirst()
-                    .orElse(null);
-            if (enhancer != null) {
-                return new UseItemAction(self, enhancer);
-            }
-
-            return resolveSpellAction(self, target);
-        }
-    },
-    MAGE_HEALER {
-        @Override
-        public BattleAction play(Entity self, Entity target) {
-            Consumable potion = Arrays.stream(self.getConsumablesEquipped())
-                    .filter(c -> c instanceof Potion)
-                    .findFirst()
-                    .orElse(null);
-
-            if (self.getStat(HP) < 50 && potion != null) {
-                return new UseItemAction(self, potion);
-            }
-
-            return resolveSpellAction(self, target);
+        public int decide(Entity self, Entity target) {
+            return MctsPlanner.decide(self, target);
         }
-    },
 
-    FIGHTER_HEALER {
         @Override
-        public BattleAction play(Entity self, Entity target) {
-            if (target.getStat(HP) < target.getStat(StatsType.MAX_HP) / 2) {
-                return new AttackAction(self, target);
-            }
-
-            Consumable potion = Arrays.stream(self.getConsumablesEquipped())
-                    .filter(c -> c instanceof Potion)
-                    .findFirst()
-                    .orElse(null);
-
-            if (self.getStat(HP) < 50 && potion != null) {
-                return new UseItemAction(self, potion);
-            } else {
-                return new AttackAction(self, target);
-            }
-        }
-    },
-    FIGHTER_BOOSTER {
-        @Override
-        public BattleAction play(Entity self, Entity target) {
-            if (target.getStat(HP) < target.getStat(StatsType.MAX_HP) / 2) {
-                return new AttackAction(self, target);
-            }
-
-            Consumable enhancer = Arrays.stream(self.getConsumablesEquipped())
-                    .filter(c -> c instanceof StatEnhancer)
-                    .findFirst()
-                    .orElse(null);
-
-            if (enhancer != null) {
-                return new UseItemAction(self, enhancer);
-            } else {
-                return new AttackAction(self, target);
-            }
+        public int chooseTarget(Entity self, FoeIndex foes) {
+            return foes.weakest();
         }
     };
 
-    private static BattleAction resolveSpellAction(Entity self, Entity target) {
-        ElementalType weakness = target.getElementalWeakness();
-
-        Spell best = Arrays.stream(self.getSpellsEquipped())
-                .filter(s -> s != null && s.isReady() && s.getElement() == weakness)
-                .findFirst()
-                .orElse(null);
-
-        if (best == null) {
-            best = Arrays.stream(self.getSpellsEquipped())
-                    .filter(s -> s != null && s.isReady())
-                    .findFirst()
-                    .orElse(null);
-        }
+    /** Below this HP the stock healer roles reach for a potion (the batch engines' copy of behaviours.json). */
+    public static final int LOW_HP = 50;
+
+    /**
+     * Picks who to act against among the standing {@code foes}, for battles with more than one foe.
+     * The weakest standing foe, so a group focuses its fire; the mage roles prefer one their spells exploit.
+     *
+     * @return a combatant index from {@code foes}, or -1 if nobody is standing
+     */
+    @Override
+    public int chooseTarget(Entity self, FoeIndex foes) {
+        return DecisionTable.of(this).chooseTarget(self, foes);
+    }
 
-        if (best != null) {
-            return new CastSpellAction(self, best, target);
-        } else {
-            return new AttackAction(self, target);
-        }
+    @Override
+    public int decide(Entity self, Entity target) {
+        return DecisionTable.decide(this, self, target);
     }
 
-    public abstract BattleAction play(Entity self, Entity target);
+    /**
+     * Same decision as {@link #decide}, wrapped in a fresh {@link BattleAction}.
+     */
+    public BattleAction play(Entity self, Entity target) {
+        return ActionCode.toAction(decide(self, target), self, target);
+    }
 }
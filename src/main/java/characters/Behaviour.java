@@ -0,0 +1,20 @@
+package characters;
+
+import battle.actions.ActionCode;
+
+/**
+ * How a combatant picks its target and its action: one of the {@link AIRole}s, or a personality
+ * declared in {@code /ai/behaviours.json} ({@link DecisionTable}).
+ */
+public interface Behaviour {
+
+    /**
+     * Picks who to act against among the standing {@code foes}, for battles with more than one foe.
+     *
+     * @return a combatant index from {@code foes}, or -1 if nobody is standing
+     */
+    int chooseTarget(Entity self, FoeIndex foes);
+
+    /** The action to take this turn, as an {@link ActionCode}. */
+    int decide(Entity self, Entity target);
+}
@@ -0,0 +1,382 @@
+package characters;
+
+import battle.actions.ActionCode;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import items.consumables.Consumable;
+import items.consumables.Potion;
+import items.consumables.StatEnhancer;
+import spells.ElementalAffinity;
+import spells.ElementalType;
+import spells.Spell;
+import util.DeveloperLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static characters.StatsType.HP;
+import static characters.StatsType.MAX_HP;
+import static util.DeveloperLogger.Category.REGISTRY;
+
+/**
+ * A behaviour declared as priority rules in {@code /ai/behaviours.json} ({@code -Dtextadv.behaviours}
+ * points at another file), compiled at load time into one flat int array; evaluating a rule is a few
+ * array reads and no allocation.
+ * <pre>
+ * "behaviours": {
+ *   "MAGE_HEALER": { "target": "exploitable",
+ *                    "rules": [ { "if": "self.HP &lt; 50", "do": "potion" }, { "do": "spell" } ] } },
+ * "enemies": { "Pesto Monk": "MAGE_HEALER" }
+ * </pre>
+ * Rules are tried in order. A rule fires when its condition holds ({@code self|target.STAT op N}, op one of
+ * {@code < <= > >=}; {@code N%} is a percentage of that side's MAX_HP) and its action is available:
+ * {@code attack}, {@code flee}, {@code spell} (the ready spell with the best affinity against the target,
+ * if it does any damage), {@code weakness} (the same, only if the target is weak to it), or
+ * {@code potion} / {@code enhancer} (the first slot holding one). With no rule firing, the behaviour
+ * attacks. {@code target} is {@code weakest} (the default) or {@code exploitable}: the weakest foe that a
+ * ready spell hits harder than usual.
+ * <p>
+ * The deterministic {@link AIRole}s are declared here too. The batch engines hard-code those,
+ * so give an enemy a new personality (in {@code enemies}) rather than editing a stock role.
+ */
+public final class DecisionTable implements Behaviour {
+
+    /*
+     * Rule layout, WIDTH ints per rule. A condition is compiled to STAT * SCALE < MAX_HP * PCT + BIAS,
+     * or its negation when LESS is 0: no division on the hot path, and N% rounds as MAX_HP * N / 100 would.
+     */
+    private static final int SIDE = 0, STAT = 1, SCALE = 2, PCT = 3, BIAS = 4, LESS = 5, ACTION = 6, WIDTH = 7;
+    private static final int ALWAYS = 0, SELF = 1, TARGET = 2;
+    private static final int MAX_HP_AT = MAX_HP.ordinal();
+    private static final int ATTACK = 0, FLEE = 1, SPELL = 2, POTION = 3, ENHANCER = 4;
+
+    private static final Pattern CONDITION = Pattern.compile("(self|target)\\.(\\w+)\\s*(<=|>=|<|>)\\s*(-?\\d+)(%?)");
+    private static final String[] ACTIONS = {"attack", "flee", "spell", "potion", "enhancer"};
+    private static final ElementalType[] KINDS = ElementalType.values();
+
+    private final String name;
+    private final boolean exploitable;
+    private final int[] rules;
+    /* Per rule, the affinity a spell must beat */
+    private final double[] minAffinity;
+
+    private DecisionTable(String name, boolean exploitable, int[] rules, double[] minAffinity) {
+        this.name = name;
+        this.exploitable = exploitable;
+        this.rules = rules;
+        this.minAffinity = minAffinity;
+    }
+
+    /** The compiled table behind a deterministic role. */
+    static DecisionTable of(AIRole role) {
+        DecisionTable t = Loaded.ROLES[role.ordinal()];
+        if (t == null) throw new IllegalStateException(role + " has no decision table");
+        return t;
+    }
+
+    /** A behaviour by name: a role or a declared personality; null if there is none. */
+    public static Behaviour named(String name) {
+        Behaviour b = Loaded.NAMED.get(name);
+        return b != null ? b : Loaded.ROLES_BY_NAME.get(name);
+    }
+
+    /** The behaviour {@code behaviours.json} gives the enemy called {@code enemy}, else {@code role}. */
+    static Behaviour forEnemy(String enemy, AIRole role) {
+        return Loaded.ENEMIES.getOrDefault(enemy, role);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int chooseTarget(Entity self, FoeIndex foes) {
+        return exploitable ? exploitableOrWeakest(self, foes) : foes.weakest();
+    }
+
+    @Override
+    public int decide(Entity self, Entity target) {
+        int[] r = rules;
+        for (int at = 0, n = 0; at < r.length; at += WIDTH, n++) {
+            if (r[at + SIDE] != ALWAYS && !holds(r[at + STAT], r[at + SCALE], r[at + PCT], r[at + BIAS],
+                    r[at + LESS] != 0, r[at + SIDE] == SELF ? self : target)) continue;
+            int code = switch (r[at + ACTION]) {
+                case ATTACK -> ActionCode.ATTACK;
+                case FLEE -> ActionCode.FLEE;
+                case SPELL -> bestSpell(self, target, minAffinity[n]);
+                case POTION -> itemSlot(self, false);
+                default -> itemSlot(self, true);
+            };
+            if (code >= 0) return code;
+        }
+        return ActionCode.ATTACK;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static boolean holds(int stat, int scale, int pct, int bias, boolean less, Entity e) {
+        int lhs = e.statAt(stat) * scale;
+        int rhs = e.statAt(MAX_HP_AT) * pct + bias;
+        return less ? lhs < rhs : lhs >= rhs;
+    }
+
+    /* ── Stock roles as method handles ─────────────────────────── */
+
+    /**
+     * {@link AIRole#decide} for a deterministic role. Each stock table is also compiled into a method
+     * handle held in a static final field, which the JIT inlines into the caller with the table's
+     * constants folded in: as cheap as a hand-written enum body. Personalities go through {@link #decide}.
+     */
+    static int decide(AIRole role, Entity self, Entity target) {
+        try {
+            return switch (role) {
+                case BERSERKER -> (int) Stock.BERSERKER.invokeExact(self, target);
+                case MAGE -> (int) Stock.MAGE.invokeExact(self, target);
+                case MAGE_BOOSTER -> (int) Stock.MAGE_BOOSTER.invokeExact(self, target);
+                case MAGE_HEALER -> (int) Stock.MAGE_HEALER.invokeExact(self, target);
+                case FIGHTER_HEALER -> (int) Stock.FIGHTER_HEALER.invokeExact(self, target);
+                case FIGHTER_BOOSTER -> (int) Stock.FIGHTER_BOOSTER.invokeExact(self, target);
+                case STRATEGIST -> throw new IllegalArgumentException("STRATEGIST has no decision table");
+            };
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static final class Stock {
+        static final MethodHandle BERSERKER = of(AIRole.BERSERKER).compile();
+        static final MethodHandle MAGE = of(AIRole.MAGE).compile();
+        static final MethodHandle MAGE_BOOSTER = of(AIRole.MAGE_BOOSTER).compile();
+        static final MethodHandle MAGE_HEALER = of(AIRole.MAGE_HEALER).compile();
+        static final MethodHandle FIGHTER_HEALER = of(AIRole.FIGHTER_HEALER).compile();
+        static final MethodHandle FIGHTER_BOOSTER = of(AIRole.FIGHTER_BOOSTER).compile();
+    }
+
+    private static final MethodHandle HOLDS, BEST_SPELL, ITEM_SLOT, FOUND;
+
+    static {
+        MethodHandles.Lookup l = MethodHandles.lookup();
+        try {
+            HOLDS = l.findStatic(DecisionTable.class, "holds", MethodType.methodType(boolean.class,
+                    int.class, int.class, int.class, int.class, boolean.class, Entity.class));
+            BEST_SPELL = l.findStatic(DecisionTable.class, "bestSpell",
+                    MethodType.methodType(int.class, Entity.class, Entity.class, double.class));
+            ITEM_SLOT = l.findStatic(DecisionTable.class, "itemSlot",
+                    MethodType.methodType(int.class, Entity.class, boolean.class));
+            FOUND = l.findStatic(DecisionTable.class, "found", MethodType.methodType(boolean.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static boolean found(int code) {
+        return code >= 0;
+    }
+
+    /** The rules as one {@code (Entity self, Entity target) -> int} handle, last rule first. */
+    private MethodHandle compile() {
+        MethodHandle next = always(ActionCode.ATTACK);
+        for (int n = rules.length / WIDTH - 1; n >= 0; n--) {
+            int at = n * WIDTH;
+            int action = rules[at + ACTION];
+            MethodHandle act;
+            if (action == ATTACK || action == FLEE) {
+                act = always(action == ATTACK ? ActionCode.ATTACK : ActionCode.FLEE);
+            } else {
+                // Try the action; -1 (nothing ready, nothing held) falls through to the next rule
+                MethodHandle attempt = action == SPELL
+                        ? MethodHandles.insertArguments(BEST_SPELL, 2, minAffinity[n])
+                        : MethodHandles.dropArguments(MethodHandles.insertArguments(ITEM_SLOT, 1, action == ENHANCER), 1, Entity.class);
+                act = MethodHandles.foldArguments(MethodHandles.guardWithTest(
+                        MethodHandles.dropArguments(FOUND, 1, Entity.class, Entity.class),
+                        MethodHandles.dropArguments(MethodHandles.identity(int.class), 1, Entity.class, Entity.class),
+                        MethodHandles.dropArguments(next, 0, int.class)), attempt);
+            }
+            if (rules[at + SIDE] == ALWAYS) {
+                next = act;
+            } else {
+                MethodHandle test = MethodHandles.insertArguments(HOLDS, 0, rules[at + STAT], rules[at + SCALE],
+                        rules[at + PCT], rules[at + BIAS], rules[at + LESS] != 0);
+                test = MethodHandles.dropArguments(test, rules[at + SIDE] == SELF ? 1 : 0, Entity.class);
+                next = MethodHandles.guardWithTest(test, act, next);
+            }
+        }
+        return next;
+    }
+
+    private static MethodHandle always(int code) {
+        return MethodHandles.dropArguments(MethodHandles.constant(int.class, code), 0, Entity.class, Entity.class);
+    }
+
+    /* ── Actions and targets ───────────────────────────────────── */
+
+    /**
+     * Ready spell with the best {@link ElementalAffinity} above {@code floor} (the first slot on ties),
+     * or -1. One pass over the slots.
+     */
+    private static int bestSpell(Entity self, Entity target, double floor) {
+        Spell[] spells = self.getSpellsEquipped();
+        int best = -1;
+        double bestAffinity = floor;
+        for (int i = 0; i < spells.length; i++) {
+            Spell s = spells[i];
+            if (s == null || !s.isReady()) continue;
+            double m = ElementalAffinity.of(s, target);
+            if (m > bestAffinity) {
+                best = i;
+                bestAffinity = m;
+            }
+        }
+        return best >= 0 ? ActionCode.spell(best) : -1;
+    }
+
+    private static int itemSlot(Entity self, boolean enhancer) {
+        Consumable[] slots = self.getConsumablesEquipped();
+        for (int i = 0; i < slots.length; i++) {
+            if (enhancer ? slots[i] instanceof StatEnhancer : slots[i] instanceof Potion) return ActionCode.item(i);
+        }
+        return -1;
+    }
+
+    /**
+     * Lowest-HP standing foe that one of our ready spells hits harder than usual, else the lowest-HP standing foe.
+     */
+    private static int exploitableOrWeakest(Entity self, FoeIndex foes) {
+        int best = -1;
+        for (ElementalType kind : KINDS) {
+            if (!exploits(self, kind)) continue;
+            int f = foes.weakest(kind);
+            if (f < 0) continue;
+            if (best < 0) {
+                best = f;
+                continue;
+            }
+            int hp = foes.get(f).getStat(HP), bestHp = foes.get(best).getStat(HP);
+            if (hp < bestHp || (hp == bestHp && f < best)) best = f; // the order FoeIndex keeps
+        }
+        return best >= 0 ? best : foes.weakest();
+    }
+
+    /* Whether a ready spell hits a target weak to {@code kind} harder than usual, as bestSpell(self, target, 1) */
+    private static boolean exploits(Entity self, ElementalType kind) {
+        for (Spell s : self.getSpellsEquipped()) {
+            if (s != null && s.isReady() && ElementalAffinity.of(s.getElement(), kind) > 1) return true;
+        }
+        return false;
+    }
+
+    /* ── Loading ───────────────────────────────────────────────── */
+
+    private static final class Loaded {
+        static final DecisionTable[] ROLES = new DecisionTable[AIRole.values().length];
+        static final Map<String, AIRole> ROLES_BY_NAME = new HashMap<>();
+        static final Map<String, DecisionTable> NAMED = new HashMap<>();
+        static final Map<String, Behaviour> ENEMIES = new HashMap<>();
+
+        static {
+            for (AIRole r : AIRole.values()) ROLES_BY_NAME.put(r.name(), r);
+            load();
+        }
+
+        private static void load() {
+            String override = System.getProperty("textadv.behaviours");
+            try (InputStream in = override != null
+                    ? Files.newInputStream(Path.of(override))
+                    : DecisionTable.class.getResourceAsStream("/ai/behaviours.json")) {
+                if (in == null) throw new IOException("behaviours.json not found in resources");
+                JsonNode root = new ObjectMapper().readTree(in);
+                int declared = 0;
+
+                for (Iterator<Map.Entry<String, JsonNode>> it = root.path("behaviours").fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> e = it.next();
+                    DecisionTable t = compile(e.getKey(), e.getValue());
+                    AIRole role = ROLES_BY_NAME.get(e.getKey());
+                    if (role == AIRole.STRATEGIST) throw new IllegalArgumentException("STRATEGIST is a search, not a table");
+                    if (role != null) ROLES[role.ordinal()] = t;
+                    else NAMED.put(e.getKey(), t);
+                    declared++;
+                }
+                for (AIRole r : AIRole.values()) {
+                    if (r != AIRole.STRATEGIST && ROLES[r.ordinal()] == null) {
+                        throw new IllegalArgumentException(r + " is not declared");
+                    }
+                }
+                for (Iterator<Map.Entry<String, JsonNode>> it = root.path("enemies").fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> e = it.next();
+                    Behaviour b = named(e.getValue().asText());
+                    if (b == null) throw new IllegalArgumentException(e.getKey() + ": unknown behaviour " + e.getValue());
+                    ENEMIES.put(e.getKey(), b);
+                }
+                DeveloperLogger.info(REGISTRY, "✅ Loaded {} AI behaviours for {} enemies.", declared, ENEMIES.size());
+            } catch (IOException | IllegalArgumentException e) {
+                DeveloperLogger.error(REGISTRY, "❌ Failed to load AI behaviours: {}", e.getMessage());
+                throw new RuntimeException("Failed to load AI behaviours", e);
+            }
+        }
+
+        private static DecisionTable compile(String name, JsonNode node) {
+            JsonNode targetNode = node.path("target");
+            String target = targetNode.isMissingNode() ? "weakest" : targetNode.asText();
+            if (!target.equals("weakest") && !target.equals("exploitable")) {
+                throw new IllegalArgumentException(name + ": unknown target " + target);
+            }
+            JsonNode list = node.path("rules");
+            int[] rules = new int[list.size() * WIDTH];
+            double[] minAffinity = new double[list.size()];
+            for (int n = 0; n < list.size(); n++) {
+                JsonNode rule = list.get(n);
+                int at = n * WIDTH;
+                String action = rule.path("do").asText();
+                if (action.equals("weakness")) {
+                    rules[at + ACTION] = SPELL;
+                    minAffinity[n] = 1;
+                } else {
+                    rules[at + ACTION] = indexOf(ACTIONS, action, name);
+                }
+                if (rule.has("if")) {
+                    String cond = rule.get("if").asText();
+                    Matcher m = CONDITION.matcher(cond.trim());
+                    if (!m.matches()) throw new IllegalArgumentException(name + ": can't read condition \"" + cond + "\"");
+                    rules[at + SIDE] = m.group(1).equals("self") ? SELF : TARGET;
+                    rules[at + STAT] = StatsType.valueOf(m.group(2)).ordinal();
+                    String op = m.group(3);
+                    int limit = Integer.parseInt(m.group(4));
+                    // v <= x is v < x + 1 and v > x is !(v < x + 1); the same for >= and <
+                    boolean inclusive = op.equals("<=") || op.equals(">");
+                    rules[at + LESS] = op.startsWith("<") ? 1 : 0;
+                    if (m.group(5).isEmpty()) {
+                        rules[at + SCALE] = 1;
+                        rules[at + BIAS] = inclusive ? limit + 1 : limit;
+                    } else {
+                        // v < MAX_HP * n / 100 (rounded down) is 100 v < MAX_HP * n - 99
+                        if (limit < 0) throw new IllegalArgumentException(name + ": negative percentage in \"" + cond + "\"");
+                        rules[at + SCALE] = 100;
+                        rules[at + PCT] = limit;
+                        rules[at + BIAS] = inclusive ? 1 : -99;
+                    }
+                }
+            }
+            return new DecisionTable(name, target.equals("exploitable"), rules, minAffinity);
+        }
+
+        private static int indexOf(String[] options, String s, String behaviour) {
+            for (int i = 0; i < options.length; i++) if (options[i].equals(s)) return i;
+            throw new IllegalArgumentException(behaviour + ": unknown \"" + s + "\"");
+        }
+    }
+}
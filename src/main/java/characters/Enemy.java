@@ -14,7 +14,8 @@ public class Enemy extends Entity {
     private final int expReward;
     private final int goldReward;
     private final AIRole aiRole;
-
+    /* aiRole, unless behaviours.json gives this enemy a personality of its own */
+    private final Behaviour behaviour;
 
     public Enemy(String name, StatsType statBoost, int level, List<Item> lootReward, int expReward, int goldReward, AIRole aiRole) {
         super(name);
@@ -23,14 +24,22 @@ public class Enemy extends Entity {
         this.expReward = expReward;
         this.goldReward = goldReward;
         this.aiRole = aiRole;
+        this.behaviour = DecisionTable.forEnemy(name, aiRole);
         levelUpTo(level);
     }
 
     private void levelUpTo(int level) {
-        getStats().forEach((type, value) -> {
+        for (StatsType type : StatsType.VALUES) {
             int increase = (statBoost == type) ? 5 * level - 1 : 2 * level - 1;
-            getStats().put(type, value + increase);
-        });
+            modifyStat(type, increase);
+        }
+    }
+
+    @Override
+    public Enemy copyForBattle() {
+        Enemy copy = new Enemy(getName(), statBoost, 0, lootReward, expReward, goldReward, aiRole);
+        copy.copyBattleStateFrom(this);
+        return copy;
     }
 
     @Override
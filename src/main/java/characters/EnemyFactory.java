@@ -7,9 +7,14 @@ import items.equip.Weapon;
 import spells.SpellFactory;
 import spells.SpellType;
 import util.ItemRegistry;
+import util.Rng;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
 
 public class EnemyFactory {
     // === Utility Method ===
@@ -160,7 +165,7 @@ public class EnemyFactory {
 
     public static Enemy createLinguiniGoon(int level) {
         Enemy e = baseEnemy("Linguini Goon", StatsType.STRENGTH, level, AIRole.BERSERKER);
-        e.setWeapon((Weapon) ItemRegistry.getItemById("steel_Sword"));
+        e.setWeapon((Weapon) ItemRegistry.getItemById("steel_sword"));
         e.setArmor((Armor) ItemRegistry.getItemById("chainmail_armor"));
         e.getLootReward().add(ItemRegistry.getItemById("greater_healing_potion"));
         return e;
@@ -168,7 +173,7 @@ public class EnemyFactory {
 
     public static Enemy createRicottelliChef(int level) {
         Enemy e = baseEnemy("Ricottelli Chef", StatsType.INTELLIGENCE, level + 1, AIRole.MAGE);
-        e.setWeapon((Weapon) ItemRegistry.getItemById("steel_Sword"));
+        e.setWeapon((Weapon) ItemRegistry.getItemById("steel_sword"));
         e.setArmor((Armor) ItemRegistry.getItemById("plate_armor"));
         e.getSpellsEquipped()[0] = SpellFactory.create(SpellType.FIREBALL);
         e.getSpellsEquipped()[1] = SpellFactory.create(SpellType.INFERNO);
@@ -202,9 +207,9 @@ public class EnemyFactory {
 
     public static Enemy createLinguiniMatriarch(int level) {
         Enemy e = baseEnemy("Linguini Matriarch", StatsType.INTELLIGENCE, level + 2, AIRole.MAGE_BOOSTER);
-        e.getSpellsEquipped()[1] = SpellFactory.create(SpellType.GARLICNOVA);
-        e.getSpellsEquipped()[2] = SpellFactory.create(SpellType.THORNSURGE);
-        e.getSpellsEquipped()[3] = SpellFactory.create(SpellType.MEATBALLMETEOR);
+        e.getSpellsEquipped()[0] = SpellFactory.create(SpellType.GARLICNOVA);
+        e.getSpellsEquipped()[1] = SpellFactory.create(SpellType.THORNSURGE);
+        e.getSpellsEquipped()[2] = SpellFactory.create(SpellType.MEATBALLMETEOR);
         e.setArmor((Armor) ItemRegistry.getItemById("dragon_scale_armor"));
         e.setWeapon((Weapon) ItemRegistry.getItemById("dragonfang_sword"));
         e.getConsumablesEquipped()[0] = (Consumable) ItemRegistry.getItemById("mind_elixir");
@@ -240,14 +245,55 @@ public class EnemyFactory {
     }
 
 
-    /* ------------ random helper ------------ */
+    /* ------------ preset index ------------ */
 
-    private static final Random RNG = new Random();
+    /**
+     * Every preset above, keyed by method name minus "create", in declaration order.
+     */
+    public static final Map<String, IntFunction<Enemy>> PRESETS;
+
+    static {
+        Map<String, IntFunction<Enemy>> presets = new LinkedHashMap<>();
+        presets.put("Bandit", EnemyFactory::createBandit);
+        presets.put("Mage", EnemyFactory::createMage);
+        presets.put("ParmesaniGoon", EnemyFactory::createParmesaniGoon);
+        presets.put("RicottelliScout", EnemyFactory::createRicottelliScout);
+        presets.put("RicottelliPriest", EnemyFactory::createRicottelliPriest);
+        presets.put("BasilCultist", EnemyFactory::createBasilCultist);
+        presets.put("ParmesaniCaptain", EnemyFactory::createParmesaniCaptain);
+        presets.put("PestoMonkBoss", EnemyFactory::createPestoMonkBoss);
+        presets.put("CheeseGuardian", EnemyFactory::createCheeseGuardian);
+        presets.put("LinguiniGoon", EnemyFactory::createLinguiniGoon);
+        presets.put("RicottelliChef", EnemyFactory::createRicottelliChef);
+        presets.put("LinguiniKnight", EnemyFactory::createLinguiniKnight);
+        presets.put("LinguiniChampion", EnemyFactory::createLinguiniChampion);
+        presets.put("BoarHunter", EnemyFactory::createBoarHunter);
+        presets.put("LinguiniMatriarch", EnemyFactory::createLinguiniMatriarch);
+        presets.put("RicottelliPatriarch", EnemyFactory::createRicottelliPatriarch);
+        presets.put("ParmesaniDon", EnemyFactory::createParmesaniDon);
+        presets.put("PigGuardian", EnemyFactory::createPigGuardian);
+        PRESETS = Collections.unmodifiableMap(presets);
+    }
+
+    /* ------------ random helper ------------ */
 
     public static Enemy createRandomEnemy(int level) {
-        return switch (RNG.nextInt(2)) {
+        return createRandomEnemy(level, Rng.fromEntropy());
+    }
+
+    public static Enemy createRandomEnemy(int level, Rng rng) {
+        return switch (rng.nextInt(2)) {
             case 1 -> createBandit(level);
             default -> createMage(level);
         };
     }
+
+    /**
+     * {@code size} random enemies for a party battle.
+     */
+    public static List<Enemy> createHorde(int level, int size, Rng rng) {
+        List<Enemy> horde = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) horde.add(createRandomEnemy(level, rng));
+        return horde;
+    }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import items.consumables.Consumable;
 import items.equip.Armor;
 import items.equip.Weapon;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import spells.ElementalType;
@@ -12,8 +13,10 @@ import spells.Spell;
 import spells.SpellFactory;
 import spells.SpellType;
 import util.ItemRegistry;
+import util.TimingWheel;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static characters.StatsType.*;
 
@@ -25,7 +28,31 @@ public abstract class Entity {
 
     /* ── Core fields ───────────────────────────────────────────── */
     private final String name;
-    private final EnumMap<StatsType, Integer> stats = new EnumMap<>(StatsType.class);
+    /* Base values, indexed by StatsType.ordinal(); persisted as a StatsType → value map, see exportStats() */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final int[] stats = new int[StatsType.VALUES.length];
+    /* Sum of the active modifiers (boosts) per stat, and base + modifiers kept current on every write */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final int[] modifiers = new int[StatsType.VALUES.length];
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final int[] effective = new int[StatsType.VALUES.length];
+    /* Equipment-derived values, recomputed on the first read after a change to the gear or to a stat they read */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private boolean derivedDirty = true;
+    /* Those stats as a bitmask of ordinals: DEFENSE, plus what the weapon reads. HP usually isn't one */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private int derivedStats = 1 << DEFENSE.ordinal();
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private int effectiveDamage;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private int effectiveDefense;
 
     /* Runtime spell & consumable objects (Jackson IGNORE) */
     @JsonIgnore
@@ -39,13 +66,29 @@ public abstract class Entity {
     @JsonProperty("equippedConsumableIds")
     protected final String[] equippedConsumableIds = new String[3];
 
+    @JsonIgnore
     private final List<TemporaryStatBoost> tempBoosts = new ArrayList<>();
 
+    /* Battle clock: +1 at the start of every turn. Cooldowns and boosts are filed on wheels
+       under the turn they end, so a turn only touches what actually ends (wheels made on first use) */
+    @JsonIgnore
+    private int clock = 0;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private TimingWheel<Spell> cooldownWheel;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private TimingWheel<TemporaryStatBoost> boostWheel;
+    /* A re-equipped or reset spell may leave its old timer behind; only clear the one still due */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Consumer<Spell> cooldownDone = s -> {
+        if (s.getReadyAt() == clock) s.markReady();
+    };
+
     @Setter
     protected int level = 1;
-    @Setter
     protected Weapon weapon;
-    @Setter
     protected Armor armor;
     @Setter
     protected boolean isAlive = true;
@@ -55,12 +98,12 @@ public abstract class Entity {
     /* ── Constructors ─────────────────────────────────────────── */
     protected Entity(String name) {
         this.name = name;
-        stats.put(MAX_HP, 100);
-        stats.put(HP, 100);
-        stats.put(STRENGTH, 10);
-        stats.put(INTELLIGENCE, 10);
-        stats.put(DEFENSE, 10);
-        stats.put(SPEED, 10);
+        setStat(MAX_HP, 100);
+        setStat(HP, 100);
+        setStat(STRENGTH, 10);
+        setStat(INTELLIGENCE, 10);
+        setStat(DEFENSE, 10);
+        setStat(SPEED, 10);
     }
 
     /* ── Spell helpers ────────────────────────────────────────── */
@@ -106,34 +149,219 @@ public abstract class Entity {
                 .findFirst().orElse(null);
     }
 
-    /* ── Stats & boosts ───────────────────────────────────────── */
+    /* ── Turn clock, cooldowns & boosts ───────────────────────── */
+
+    /**
+     * Advances the clock; spells whose cooldown ends this turn become ready.
+     */
+    public void startTurn() {
+        clock++;
+        if (cooldownWheel != null) cooldownWheel.expire(clock, cooldownDone);
+    }
+
+    /**
+     * End of turn: boosts whose last turn this was are reverted.
+     */
+    public void tickStatusEffects() {
+        if (boostWheel != null) boostWheel.expire(clock, TemporaryStatBoost::expire);
+    }
+
+    public void startCooldown(Spell s) {
+        if (!s.startCooldown(clock)) return;
+        if (cooldownWheel == null) cooldownWheel = new TimingWheel<>();
+        cooldownWheel.schedule(s, s.getReadyAt());
+    }
+
+    public int cooldownLeft(Spell s) {
+        return s.cooldownLeft(clock);
+    }
+
+    public void resetCooldowns() {
+        for (Spell s : spellsEquipped) {
+            if (s != null) s.markReady();
+        }
+        if (cooldownWheel != null) cooldownWheel.clear();
+    }
+
+    /**
+     * Sets the clock and re-files the cooldowns, for callers that wrote {@link Spell#setReadyAt} directly.
+     */
+    public void restoreClock(int clock) {
+        this.clock = clock;
+        if (cooldownWheel != null) cooldownWheel.clear();
+        for (Spell s : spellsEquipped) {
+            if (s == null || s.isReady()) continue;
+            if (cooldownWheel == null) cooldownWheel = new TimingWheel<>();
+            cooldownWheel.schedule(s, s.getReadyAt());
+        }
+    }
+
+    /**
+     * Attaches the boost and applies its modifier.
+     */
     public void addTemporaryBoost(TemporaryStatBoost b) {
+        addModifier(b.getStat(), b.getBoostAmount());
+        b.index = tempBoosts.size();
         tempBoosts.add(b);
+        if (boostWheel == null) boostWheel = new TimingWheel<>();
+        boostWheel.schedule(b, b.getExpiresAt());
     }
 
     public void removeTemporaryBoost(TemporaryStatBoost b) {
-        tempBoosts.remove(b);
+        int i = b.index;
+        if (i < 0 || i >= tempBoosts.size() || tempBoosts.get(i) != b) return;
+        TemporaryStatBoost last = tempBoosts.remove(tempBoosts.size() - 1);
+        if (last != b) {
+            tempBoosts.set(i, last);
+            last.index = i;
+        }
+        b.index = -1;
+        addModifier(b.getStat(), -b.getBoostAmount());
     }
 
-    public void tickStatusEffects() {
-        new ArrayList<>(tempBoosts).forEach(TemporaryStatBoost::tick);
+    public void clearTemporaryBoosts() {
+        for (TemporaryStatBoost b : tempBoosts) {
+            b.index = -1;
+            addModifier(b.getStat(), -b.getBoostAmount());
+        }
+        tempBoosts.clear();
+        if (boostWheel != null) boostWheel.clear();
+    }
+
+    /** Visits the boosts that {@link #tickStatusEffects} will revert this turn. */
+    public void forEachExpiringBoost(Consumer<TemporaryStatBoost> action) {
+        if (boostWheel != null) boostWheel.forEachDue(clock, action);
     }
 
+    /* ── Stats: base + modifiers ──────────────────────────────── */
+
+    /**
+     * Effective value: base plus every active modifier.
+     */
     public int getStat(StatsType t) {
-        return stats.getOrDefault(t, 0);
+        return effective[t.ordinal()];
     }
 
+    /** {@link #getStat} by ordinal, for {@link DecisionTable}. */
+    int statAt(int ordinal) {
+        return effective[ordinal];
+    }
+
+    /**
+     * Value without modifiers; this is what saves keep.
+     */
+    public int getBaseStat(StatsType t) {
+        return stats[t.ordinal()];
+    }
+
+    /** Writes the base value. */
     public void setStat(StatsType t, int v) {
-        stats.put(t, v);
+        int i = t.ordinal();
+        stats[i] = v;
+        effective[i] = v + modifiers[i];
+        if ((derivedStats >>> i & 1) != 0) derivedDirty = true;
     }
 
+    /** Adds to the base value (damage, healing, level-ups). */
     public void modifyStat(StatsType t, int d) {
-        stats.put(t, getStat(t) + d);
+        int i = t.ordinal();
+        stats[i] += d;
+        effective[i] += d;
+        if ((derivedStats >>> i & 1) != 0) derivedDirty = true;
+    }
+
+    private void addModifier(StatsType t, int d) {
+        int i = t.ordinal();
+        modifiers[i] += d;
+        effective[i] += d;
+        if ((derivedStats >>> i & 1) != 0) derivedDirty = true;
+    }
+
+    public void setWeapon(Weapon weapon) {
+        this.weapon = weapon;
+        derivedStats = 1 << DEFENSE.ordinal() | (weapon != null ? weapon.statsRead() : 0);
+        derivedDirty = true;
+    }
+
+    public void setArmor(Armor armor) {
+        this.armor = armor;
+        derivedDirty = true;
+    }
+
+    /**
+     * Attack damage with the current weapon and stats, before the target's defense.
+     */
+    @JsonIgnore
+    public int getEffectiveDamage() {
+        if (derivedDirty) refreshDerived();
+        return effectiveDamage;
     }
 
     @JsonIgnore
     public int getEffectiveDefense() {
-        return getStat(DEFENSE) + armor.getDefensePoints();
+        if (derivedDirty) refreshDerived();
+        return effectiveDefense;
+    }
+
+    private void refreshDerived() {
+        effectiveDamage = weapon != null ? weapon.getEffectiveDamage(this) : 0;
+        effectiveDefense = getStat(DEFENSE) + (armor != null ? armor.getDefensePoints() : 0);
+        derivedDirty = false;
+    }
+
+    /* Save format stays {"stats": {"HP": 100, ...}} */
+    @JsonProperty("stats")
+    public Map<StatsType, Integer> exportStats() {
+        EnumMap<StatsType, Integer> map = new EnumMap<>(StatsType.class);
+        for (StatsType t : StatsType.VALUES) map.put(t, stats[t.ordinal()]);
+        return map;
+    }
+
+    @JsonProperty("stats")
+    private void importStats(Map<StatsType, Integer> map) {
+        map.forEach(this::setStat);
+    }
+
+    /* ── Battle copies & snapshots ────────────────────────────── */
+
+    /**
+     * Independent copy of everything a battle reads or changes. Inventory, rewards and exp are not copied.
+     */
+    public abstract Entity copyForBattle();
+
+    protected void copyBattleStateFrom(Entity src) {
+        loadStats(src.stats, 0);
+        level = src.level;
+        setWeapon(src.weapon);
+        setArmor(src.armor);
+        elementalWeakness = src.elementalWeakness;
+        isAlive = src.isAlive;
+        for (int i = 0; i < spellsEquipped.length; i++) {
+            Spell s = src.spellsEquipped[i];
+            equippedSpellTypes[i] = src.equippedSpellTypes[i];
+            spellsEquipped[i] = s != null ? Spell.copyOf(s) : null;
+            if (s != null) spellsEquipped[i].setReadyAt(s.getReadyAt());
+        }
+        System.arraycopy(src.consumablesEquipped, 0, consumablesEquipped, 0, consumablesEquipped.length);
+        System.arraycopy(src.equippedConsumableIds, 0, equippedConsumableIds, 0, equippedConsumableIds.length);
+        clearTemporaryBoosts();
+        for (TemporaryStatBoost b : src.tempBoosts) {
+            TemporaryStatBoost.resume(this, b.getStat(), b.getBoostAmount(), b.getExpiresAt());
+        }
+        restoreClock(src.clock);
+    }
+
+    /**
+     * Raw base stat block in {@link StatsType#ordinal()} order, for snapshots.
+     */
+    public void saveStats(int[] dst, int offset) {
+        System.arraycopy(stats, 0, dst, offset, stats.length);
+    }
+
+    public void loadStats(int[] src, int offset) {
+        System.arraycopy(src, offset, stats, 0, stats.length);
+        for (int i = 0; i < stats.length; i++) effective[i] = stats[i] + modifiers[i];
+        derivedDirty = true;
     }
 
 
@@ -0,0 +1,20 @@
+package characters;
+
+import spells.ElementalType;
+
+/**
+ * The standing foes of one side in a battle with more than one foe, kept ordered by HP as they take
+ * damage, so a {@link Behaviour} picks its target without scanning them. Indices are the battle's
+ * combatant indices.
+ */
+public interface FoeIndex {
+
+    /** The combatant at index {@code i}. */
+    Entity get(int i);
+
+    /** Lowest-HP standing foe, the lowest index on a tie; -1 if nobody is standing. */
+    int weakest();
+
+    /** As {@link #weakest()}, among the standing foes whose elemental weakness is {@code kind}. */
+    int weakest(ElementalType kind);
+}
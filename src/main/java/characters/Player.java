@@ -106,6 +106,13 @@ public class Player extends Entity {
         return synced;
     }
 
+    @Override
+    public Player copyForBattle() {
+        Player copy = new Player(getName(), statBoost, elementalWeakness);
+        copy.copyBattleStateFrom(this);
+        return copy;
+    }
+
     /* ── Inventory helpers ────────────────────── */
     public void addItemToInventory(Item item) {
         inventory.merge(item, 1, Integer::sum);
@@ -139,11 +146,11 @@ public class Player extends Entity {
 
     private void levelUp() {
         level++;
-        expToLevelUp *= 2;
-        getStats().forEach((t, v) -> {
+        expToLevelUp = (int) Math.min(2L * expToLevelUp, Integer.MAX_VALUE); // doubling overflows past level 30
+        for (StatsType t : StatsType.VALUES) {
             int inc = (statBoost == t) ? 5 : 4;
-            getStats().put(t, v + inc);
-        });
+            modifyStat(t, inc);
+        }
     }
 
     public void collectGold(int g) {
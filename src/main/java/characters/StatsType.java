@@ -10,6 +10,11 @@ public enum StatsType {
     STRENGTH,
     INTELLIGENCE,
     DEFENSE,
-    SPEED,
+    SPEED;
+
+    /**
+     * Cached {@link #values()}, which otherwise clones the array on every call.
+     */
+    public static final StatsType[] VALUES = values();
 }
 
@@ -1,31 +1,45 @@
 package characters;
 
-import characters.Entity;
-import characters.StatsType;
+import lombok.Getter;
+import lombok.Setter;
 
 public class TemporaryStatBoost {
+    @Getter
     private final StatsType stat;
+    @Getter
     private final int boostAmount;
-    private int turnsLeft;
+    /* Turn on the entity's clock at whose end the boost is reverted */
+    @Getter
+    @Setter
+    private int expiresAt;
     private final Entity entity;
+    /* Position in the entity's boost list, -1 once removed; kept by Entity */
+    int index = -1;
 
+    /**
+     * A modifier lasting {@code duration} turns, counting the current one.
+     * It takes effect once passed to {@link Entity#addTemporaryBoost}.
+     */
     public TemporaryStatBoost(Entity entity, StatsType stat, int boostAmount, int duration) {
         this.entity = entity;
         this.stat = stat;
         this.boostAmount = boostAmount;
-        this.turnsLeft = duration;
-        applyBoost();
+        this.expiresAt = entity.getClock() + Math.max(duration, 1) - 1;
     }
 
-    private void applyBoost() {
-        entity.modifyStat(stat, boostAmount);
+    /**
+     * Re-attaches a boost that ends at turn {@code expiresAt} of the entity's clock (e.g. restored from a journal).
+     */
+    public static TemporaryStatBoost resume(Entity entity, StatsType stat, int boostAmount, int expiresAt) {
+        TemporaryStatBoost b = new TemporaryStatBoost(entity, stat, boostAmount, 1);
+        b.expiresAt = expiresAt;
+        entity.addTemporaryBoost(b);
+        return b;
     }
 
-    public void tick() {
-        turnsLeft--;
-        if (turnsLeft <= 0) {
-            entity.modifyStat(stat, -boostAmount); // Revert boost
-            entity.removeTemporaryBoost(this);     // Remove from list
-        }
+    /* Fired by the entity's boost wheel */
+    void expire() {
+        if (index < 0) return; // already dropped
+        entity.removeTemporaryBoost(this); // Reverts the modifier
     }
 }
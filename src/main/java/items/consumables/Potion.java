@@ -1,11 +1,11 @@
 package items.consumables;
 
+import battle.formula.Formulas;
 import characters.Entity;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import static characters.StatsType.HP;
-import static characters.StatsType.MAX_HP;
 
 public class Potion extends Consumable {
 
@@ -22,9 +22,7 @@ public class Potion extends Consumable {
 
     @Override
     public void use(Entity entity) {
-        int currentHp = entity.getStat(HP);
-        int maxHp = entity.getStat(MAX_HP);
-        int healedHp = Math.min(currentHp + pointsToApply, maxHp);
-        entity.setStat(HP, healedHp);
+        int healedHp = Formulas.POTION.evalInt(entity, entity, pointsToApply, 0, 1);
+        entity.modifyStat(HP, healedHp - entity.getStat(HP));
     }
 }
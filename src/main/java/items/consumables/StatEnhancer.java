@@ -1,5 +1,6 @@
 package items.consumables;
 
+import battle.formula.Formulas;
 import characters.Entity;
 import characters.StatsType;
 import characters.TemporaryStatBoost;
@@ -29,7 +30,8 @@ public class StatEnhancer extends Consumable {
 
     @Override
     public void use(Entity entity) {
-        TemporaryStatBoost boost = new TemporaryStatBoost(entity, statToBoost, pointsToApply, length);
+        int amount = Formulas.BOOST.evalInt(entity, entity, pointsToApply, 0, 1);
+        TemporaryStatBoost boost = new TemporaryStatBoost(entity, statToBoost, amount, length);
         entity.addTemporaryBoost(boost);
     }
 }
@@ -1,12 +1,12 @@
 package items.equip;
 
+import battle.formula.Formulas;
+import characters.Entity;
 import characters.StatsType;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import items.Item;
 
-import java.util.EnumMap;
-
 public class Weapon extends Item {
     private final int damage;
     private final StatsType damageMultiplier;
@@ -25,8 +25,17 @@ public class Weapon extends Item {
         this.damageMultiplier = damageMultiplier;
     }
 
-    public int getEffectiveDamage(EnumMap<StatsType, Integer> stats) {
-        return damage + stats.getOrDefault(damageMultiplier, 0);
+    public int getEffectiveDamage(Entity wielder) {
+        int scaling = damageMultiplier == null ? 0 : wielder.getStat(damageMultiplier);
+        return Formulas.WEAPON_DAMAGE.evalInt(wielder, wielder, damage, scaling, 1);
+    }
+
+    /**
+     * Wielder stats {@link #getEffectiveDamage} depends on, as a bitmask of {@link StatsType} ordinals.
+     */
+    public int statsRead() {
+        int read = Formulas.WEAPON_DAMAGE_STATS;
+        return damageMultiplier == null ? read : read | 1 << damageMultiplier.ordinal();
     }
 
     public int getDamage() {
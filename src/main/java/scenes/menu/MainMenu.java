@@ -12,6 +12,8 @@ import util.DeveloperLogger;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class MainMenu implements Scene {
     private final Window window = new BasicWindow("Main Menu");
     private final MultiWindowTextGUI gui;
@@ -23,7 +25,7 @@ public class MainMenu implements Scene {
         window.setHints(List.of(Window.Hint.CENTERED));
         panel.addComponent(new Label("Welcome to the Main Menu"));
         panel.addComponent(new Button("Start Game", () -> {
-            DeveloperLogger.log("Start Game Clicked");
+            DeveloperLogger.info(SCENE, "Start Game Clicked");
             SceneManager.get().switchTo(new Tutorial(gui));
             window.close();// or switch scene
         }));
@@ -38,7 +40,7 @@ public class MainMenu implements Scene {
         }));
         
         panel.addComponent(new Button("Exit", () -> {
-            DeveloperLogger.log("Start Game Clicked");// or switch scene
+            DeveloperLogger.info(SCENE, "Start Game Clicked");// or switch scene
         }));
 
 
@@ -14,6 +14,8 @@ import util.DeveloperLogger;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 /**
  * Mission 1 – “The Golden Garlic of Belmonte”
  * <p>
@@ -87,7 +89,7 @@ public class Mission1 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Won battle #1");
+                DeveloperLogger.info(SCENE, "Won battle #1");
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -160,7 +162,7 @@ public class Mission1 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Won battle #2 (" + branch + ")");
+                DeveloperLogger.info(SCENE, "Won battle #2 ({})", branch);
                 GameState.get().setMissionFlag(MissionType.MISSION_1);
                 SceneManager.get().switchTo(this);
             } else {
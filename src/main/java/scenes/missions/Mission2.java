@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission2 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -114,7 +116,7 @@ public class Mission2 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Infiltration successful via " + route);
+                DeveloperLogger.info(SCENE, "Infiltration successful via {}", route);
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -142,7 +144,7 @@ public class Mission2 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Boss defeated");
+                DeveloperLogger.info(SCENE, "Boss defeated");
                 GameState.get().setMissionFlag(MissionType.MISSION_2);
                 MessageDialog.showMessageDialog(gui, "Item Found", "You found the Sugo Flare book!");
                 GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_flare"));
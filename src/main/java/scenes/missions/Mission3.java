@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission3 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -107,7 +109,7 @@ public class Mission3 implements Scene {
 
             battle.setOnBattleEnd(r -> {
                 if (r == BattleResult.VICTORY) {
-                    DeveloperLogger.log("Infiltration successful via " + route);
+                    DeveloperLogger.info(SCENE, "Infiltration successful via {}", route);
                     List<Dialogue> postRoute = switch (route) {
                         case STEALTH -> List.of(
                                 new Dialogue("Narrator", "You slip past the curdled guards, unseen."),
@@ -143,7 +145,7 @@ public class Mission3 implements Scene {
                     GameState.get().setMissionFlag(MissionType.MISSION_3);
                     MessageDialog.showMessageDialog(gui, "Item Found", "You found the Frozen Peas book!");
                     GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_glacialspike"));
-                    DeveloperLogger.log("Boss defeated");
+                    DeveloperLogger.info(SCENE, "Boss defeated");
                     SceneManager.get().switchTo(this);
                 } else {
                     failAndKick(r);
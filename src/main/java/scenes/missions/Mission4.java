@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission4 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -114,7 +116,7 @@ public class Mission4 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("First encounter cleared via path: " + path);
+                DeveloperLogger.info(SCENE, "First encounter cleared via path: {}", path);
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -142,7 +144,7 @@ public class Mission4 implements Scene {
                 GameState.get().setMissionFlag(MissionType.MISSION_4);
                 MessageDialog.showMessageDialog(gui, "Item Found", "You found the InfernoGrana book!");
                 GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_inferno"));
-                DeveloperLogger.log("Defeated Ricottelli Chef");
+                DeveloperLogger.info(SCENE, "Defeated Ricottelli Chef");
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission5 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -103,7 +105,7 @@ public class Mission5 implements Scene {
 
             battle.setOnBattleEnd(r -> {
                 if (r == BattleResult.VICTORY) {
-                    DeveloperLogger.log("First obstacle at Linguini feast passed");
+                    DeveloperLogger.info(SCENE, "First obstacle at Linguini feast passed");
                     SceneManager.get().switchTo(this);
                 } else {
                     failAndKick(r);
@@ -128,7 +130,7 @@ public class Mission5 implements Scene {
                     GameState.get().setMissionFlag(MissionType.MISSION_5);
                     MessageDialog.showMessageDialog(gui, "Item Found", "You found the Sicilian Roses book!");
                     GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_thornsurge"));
-                    DeveloperLogger.log("Defeated Linguini Champion, stole the Menu of Dominion");
+                    DeveloperLogger.info(SCENE, "Defeated Linguini Champion, stole the Menu of Dominion");
                     SceneManager.get().switchTo(this);
                 } else {
                     failAndKick(r);
@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission6 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -70,7 +72,7 @@ public class Mission6 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Defeated Wild Boar Hunter");
+                DeveloperLogger.info(SCENE, "Defeated Wild Boar Hunter");
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -100,7 +102,7 @@ public class Mission6 implements Scene {
                 GameState.get().setMissionFlag(MissionType.MISSION_6);
                 MessageDialog.showMessageDialog(gui, "Item Found", "You found the Pizza Revenge book!");
                 GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_meatballmeteor"));
-                DeveloperLogger.log("Secured Cinta Noble Pig");
+                DeveloperLogger.info(SCENE, "Secured Cinta Noble Pig");
                 SceneManager.get().switchTo(this);
             } else {
                 failAndKick(r);
@@ -15,6 +15,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission7 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -69,7 +71,7 @@ public class Mission7 implements Scene {
 
         battle.setOnBattleEnd(r -> {
             if (r == BattleResult.VICTORY) {
-                DeveloperLogger.log("Defeated Beef Rustler");
+                DeveloperLogger.info(SCENE, "Defeated Beef Rustler");
                 dialogueService.runDialogues(List.of(
                         new Dialogue("Narrator", "The rustler drops his pan and scurries off, muttering about underseasoned defeat."),
                         new Dialogue(name, "What kind of chef carries a branding iron...?"),
@@ -98,7 +100,7 @@ public class Mission7 implements Scene {
                     GameState.get().setMissionFlag(MissionType.MISSION_7);
                     MessageDialog.showMessageDialog(gui, "Item Found", "You found the GarlicNova book!");
                     GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_garlicnova"));
-                    DeveloperLogger.log("Secured Maremmana Ox");
+                    DeveloperLogger.info(SCENE, "Secured Maremmana Ox");
                     SceneManager.get().switchTo(this);
                 } else {
                     failAndKick(r);
@@ -13,6 +13,8 @@ import util.DeveloperLogger;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Mission8 implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -136,7 +138,7 @@ public class Mission8 implements Scene {
     // ───────────────────── Utility ─────────────────────
     private void onBattleEnd(BattleResult r, Runnable onVictory) {
         if (r == BattleResult.VICTORY) {
-            DeveloperLogger.log("Boss defeated in Mission 8");
+            DeveloperLogger.info(SCENE, "Boss defeated in Mission 8");
             onVictory.run();
         } else {
             failAndKick(r);
@@ -22,6 +22,8 @@ import util.ItemRegistry;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Tutorial implements Scene {
     private final MultiWindowTextGUI gui;
     private final DialogueService dialogueService;
@@ -83,7 +85,7 @@ public class Tutorial implements Scene {
                     askForWeakness();
                     GameState.get().setPlayer(new Player(pendingName, statsPreference, weakness));
                     GameState.get().getPlayer().equipSpell(0, SpellType.FIREBALL);
-                    DeveloperLogger.log("Creating player " + pendingName + " with boost " + statsPreference + ", Weak to " + weakness);
+                    DeveloperLogger.info(SCENE, "Creating player {} with boost {}, Weak to {}", pendingName, statsPreference, weakness);
                     nextStep();// go to next step
                 })),
                 DialogueInputType.TEXT_INPUT
@@ -159,7 +161,7 @@ public class Tutorial implements Scene {
                 case VICTORY ->
                 // Resume the tutorial sequence
                 {
-                    DeveloperLogger.log("Player won");
+                    DeveloperLogger.info(SCENE, "Player won");
                     GameState.get().setMissionFlag(MissionType.TUTORIAL);
                     MessageDialog.showMessageDialog(gui, "Item Found", "You found the Booma Zap book!");
                     GameState.get().getPlayer().addItemToInventory(ItemRegistry.getItemById("book_energyblast"));
@@ -28,7 +28,7 @@ public class ActionMenu {
         menu.addItem("Attack", () -> tm.queuePlayerAction(new AttackAction(player, enemy)));
         menu.addItem("Cast Spell", () -> showSpellMenu(tm, player, enemy, action, gui));
         menu.addItem("Use Item", () -> showItemMenu(tm, player, enemy, action, gui));
-        menu.addItem("Flee", () -> tm.queuePlayerAction(new FleeAction(player, tm)));
+        menu.addItem("Flee", () -> tm.queuePlayerAction(new FleeAction(player)));
 
 
         action.addComponent(menu);
@@ -46,7 +46,7 @@ public class ActionMenu {
                     boolean ready = spell.isReady();
                     String label = ready
                             ? spell.getName().toString()
-                            : spell.getName().toString() + " (Cooldown: " + spell.getCooldownCounter() + ")";
+                            : spell.getName().toString() + " (Cooldown: " + player.cooldownLeft(spell) + ")";
 
                     Runnable itemAction = () -> {
                         if (!spell.isReady()) {
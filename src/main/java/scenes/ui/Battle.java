@@ -1,7 +1,10 @@
 package scenes.ui;
 
+import battle.BattleHost;
 import battle.TurnManager;
 import battle.actions.*;
+import battle.replay.BattleJournal;
+import battle.stats.BattleStatsStore;
 import characters.*;
 import com.googlecode.lanterna.TerminalSize;
 import com.googlecode.lanterna.TextColor;
@@ -18,9 +21,13 @@ import util.DeveloperLogger;
 import util.PlayerLogger;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Consumer;
 
+import static util.DeveloperLogger.Category.SAVE;
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Battle implements Scene {
 
     private final MultiWindowTextGUI gui;
@@ -46,25 +53,27 @@ public class Battle implements Scene {
     @Override
 
     public void enter() {
-        DeveloperLogger.log("entered battle");
+        DeveloperLogger.debug(SCENE, "entered battle");
 
         win.setHints(List.of(Window.Hint.CENTERED));
         win.setComponent(buildRoot());
         PlayerLogger.init(logBox, gui, () -> ActionMenu.refreshSafe(gui));
 
+        int playerHp = player.getStat(StatsType.HP);
+        int enemyHp = enemy.getStat(StatsType.HP);
         TurnManager tm = new TurnManager(player, enemy);
         tm.setPromptCallback(() ->
                 gui.getGUIThread().invokeLater(() ->
                         ActionMenu.showActionsMenu(tm, player, enemy, action, gui)
                 )
         );
-        tm.setOnBattleEnd(result ->
-
-                gui.getGUIThread().invokeLater(() -> finishBattle(result, enemy))
-        );
+        tm.setOnBattleEnd(result -> {
+            saveReplay(tm.getJournal());
+            saveStats(tm.getJournal(), result, playerHp, enemyHp);
+            gui.getGUIThread().invokeLater(() -> finishBattle(result, enemy));
+        });
 
-
-        new Thread(tm::startBattle, "battle-loop").start(); // ✅ logic thread
+        BattleHost.shared().host(tm); // ✅ logic on a virtual thread
 
         // 👇 This MUST stay on the main thread!
         gui.addWindowAndWait(win); // ✅ actual UI loop
@@ -205,6 +214,36 @@ public class Battle implements Scene {
         }
     }
 
+    /**
+     * Keeps the last battle as a replayable journal, for bug reports: {@code java Replay <file>}.
+     */
+    private static void saveReplay(BattleJournal journal) {
+        if (journal == null) return;
+        try {
+            Path file = Path.of(System.getProperty("user.home"), ".textadv", "replays", "last-battle.taj");
+            journal.save(file);
+            DeveloperLogger.debug(SAVE, "Replay saved to {}", file);
+        } catch (IOException e) {
+            DeveloperLogger.error(SAVE, "Replay not saved: {}", e.getMessage());
+        }
+    }
+
+    /* One row in the battle stats store; runs before finishBattle heals the player */
+    private void saveStats(BattleJournal journal, BattleResult result, int playerHp, int enemyHp) {
+        BattleStatsStore store = BattleStatsStore.shared();
+        if (store == null) return;
+        int turns = journal == null ? 0 : journal.getTurnCount();
+        int[] actions = new int[ActionCode.COUNT];
+        for (int t = 0; t < turns; t++) actions[journal.playerCode(t)]++;
+        try (BattleStatsStore.Appender rows = store.appender()) {
+            rows.add(enemy.getName(), player.getLevel(), result, turns,
+                    enemyHp - enemy.getStat(StatsType.HP), playerHp - player.getStat(StatsType.HP),
+                    player.getSpellsEquipped(), actions, false);
+        } catch (RuntimeException e) {
+            DeveloperLogger.error(SAVE, "Battle stats not saved: {}", e.getMessage());
+        }
+    }
+
     public static void restorePlayerHealth(Player p) {
         p.setStat(StatsType.HP, p.getStat(StatsType.MAX_HP));
     }
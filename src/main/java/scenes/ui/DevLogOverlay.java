@@ -7,6 +7,7 @@ import com.googlecode.lanterna.graphics.SimpleTheme;
 import com.googlecode.lanterna.gui2.*;
 
 import lombok.Getter;
+import util.DeveloperLogger;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -33,6 +34,7 @@ public class DevLogOverlay {
         devLogWindow.setPosition(new TerminalPosition(0, 0));
 
         gui.addWindow(devLogWindow);
+        DeveloperLogger.setSink(DevLogOverlay::log);
     }
 
     public static void log(String msg) {
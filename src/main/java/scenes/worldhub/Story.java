@@ -11,6 +11,8 @@ import util.DeveloperLogger;
 
 import java.util.List;
 
+import static util.DeveloperLogger.Category.SCENE;
+
 public class Story implements Scene {
     private final WindowBasedTextGUI gui;
     private BasicWindow window;
@@ -21,7 +23,7 @@ public class Story implements Scene {
 
     @Override
     public void enter() {
-        DeveloperLogger.log("Mission flag at story entry: " + GameState.get().getMissionFlag());
+        DeveloperLogger.info(SCENE, "Mission flag at story entry: {}", GameState.get().getMissionFlag());
         window = new BasicWindow("Story Mode");
         MissionType flag = GameState.get().getMissionFlag();
 
@@ -17,6 +17,7 @@ import util.DeveloperLogger;
 import java.util.List;
 
 import static util.UIHelper.*;
+import static util.DeveloperLogger.Category.SCENE;
 
 public class WorldHub implements Scene {
     private final WindowBasedTextGUI gui;
@@ -130,10 +131,8 @@ public class WorldHub implements Scene {
         window.setComponent(outer);
         gui.addWindowAndWait(window);
 
-        DeveloperLogger.log("WorldHub entered, mission flag: "
-                + (GameState.get().getMissionFlag() != null
-                ? GameState.get().getMissionFlag()
-                : "NONE"));
+        DeveloperLogger.info(SCENE, "WorldHub entered, mission flag: {}",
+                GameState.get().getMissionFlag() != null ? GameState.get().getMissionFlag() : "NONE");
     }
 
 
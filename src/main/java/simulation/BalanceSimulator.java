@@ -0,0 +1,93 @@
+package simulation;
+
+import battle.stats.BattleStatsStore;
+import characters.Enemy;
+import util.DeveloperLogger;
+import util.Rng;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * Monte Carlo balance runs: every build against every preset, spread over a fork/join pool.
+ * The same seed gives the same report, whatever the pool size.
+ */
+public class BalanceSimulator {
+
+    public record MatchupResult(PlayerBuild build, String enemy, MatchupStats stats) {
+    }
+
+    private final ForkJoinPool pool;
+    private final int duelsPerMatchup;
+    private final int maxTurns;
+    private final long seed;
+    private BattleStatsStore store;
+
+    public BalanceSimulator(ForkJoinPool pool, int duelsPerMatchup, int maxTurns, long seed) {
+        this.pool = pool;
+        this.duelsPerMatchup = duelsPerMatchup;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+    }
+
+    /** Also appends every duel to {@code store}; rows are written in no particular order. */
+    public BalanceSimulator recordTo(BattleStatsStore store) {
+        this.store = store;
+        return this;
+    }
+
+    public List<MatchupResult> run(List<PlayerBuild> builds, Map<String, IntFunction<Enemy>> presets) {
+        Rng root = new Rng(seed);
+        List<ForkJoinTask<MatchupStats>> tasks = new ArrayList<>();
+        for (PlayerBuild build : builds) {
+            for (IntFunction<Enemy> preset : presets.values()) {
+                tasks.add(pool.submit(new DuelTask(build, preset, duelsPerMatchup, maxTurns, root.split(), store)));
+            }
+        }
+
+        List<MatchupResult> results = new ArrayList<>(tasks.size());
+        int i = 0;
+        for (PlayerBuild build : builds) {
+            for (String enemy : presets.keySet()) {
+                MatchupStats stats = tasks.get(i++).join();
+                DeveloperLogger.info(BATTLE, "{} vs {}: win rate {}", build.label(), enemy, stats.winRate());
+                results.add(new MatchupResult(build, enemy, stats));
+            }
+        }
+        return results;
+    }
+
+    /* ── Reporting ───────────────────────────────────────────── */
+
+    public static void printReport(List<MatchupResult> results, PrintStream out) {
+        out.println("=== Win rate matrix (player win %) ===");
+        String currentBuild = null;
+        for (MatchupResult r : results) {
+            String label = r.build().label();
+            if (!label.equals(currentBuild)) {
+                currentBuild = label;
+                out.println();
+                out.println(label);
+            }
+            MatchupStats s = r.stats();
+            out.printf("  %-22s win %5.1f%%  lose %5.1f%%  timeout %5.1f%%  turns %5.2f  "
+                            + "dealt p50/p90 %4d/%-4d  taken p50/p90 %4d/%-4d%n",
+                    r.enemy(),
+                    100 * s.winRate(),
+                    100 * s.getLosses() / (double) s.getDuels(),
+                    100 * s.getTimeouts() / (double) s.getDuels(),
+                    s.averageTurns(),
+                    MatchupStats.percentile(s.getDamageDealt(), 0.5),
+                    MatchupStats.percentile(s.getDamageDealt(), 0.9),
+                    MatchupStats.percentile(s.getDamageTaken(), 0.5),
+                    MatchupStats.percentile(s.getDamageTaken(), 0.9));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package simulation;
+
+import battle.actions.ActionCode;
+import battle.actions.BattleResult;
+import util.Rng;
+
+import java.util.Arrays;
+
+import static characters.AIRole.LOW_HP;
+import static simulation.BatchTables.MASKS;
+import static simulation.BatchTables.SLOTS;
+
+/**
+ * A block of independent duels of one matchup, stored as primitive columns (one array per field,
+ * one index per duel) so a kernel can stream through them.
+ * <p>
+ * Every running lane is on the same turn, so the clocks are one shared counter. A lane that ends
+ * is left as it is and skipped from then on. {@link #playLane} is the reference rules, step for
+ * step what {@link Duel} does through {@link battle.BattleEngine}; kernels may do the common
+ * case their own way but must agree with it.
+ */
+final class BatchDuels {
+
+    static final int RUNNING = 0, VICTORY = 1, DEFEAT = 2;
+
+    final int capacity;
+    BatchTables tables;
+    int lanes;
+    int turn;
+    int running;
+
+    /* [side][lane] */
+    final int[][] hp;
+    final int[][] items;      // slot bits still held
+    /* [side][slot][lane] */
+    final int[][][] boostUntil; // last turn of the slot's boost, 0 if never used
+    final int[][][] readyAt;    // turn the spell is usable again, 0 while ready
+    /* [lane]: each lane's Rng, as Rng#getSeed / Rng#getGamma */
+    final long[] seed;
+    final long[] gamma;
+    final int[] result;
+    final int[] turns;
+
+    BatchDuels(int capacity) {
+        this.capacity = capacity;
+        hp = new int[2][capacity];
+        items = new int[2][capacity];
+        boostUntil = new int[2][SLOTS][capacity];
+        readyAt = new int[2][SLOTS][capacity];
+        seed = new long[capacity];
+        gamma = new long[capacity];
+        result = new int[capacity];
+        turns = new int[capacity];
+    }
+
+    /**
+     * Sets up {@code n} fresh duels whose generators are {@code seeds/gammas[from..from+n)}.
+     */
+    void load(BatchTables t, long[] seeds, long[] gammas, int from, int n) {
+        tables = t;
+        lanes = n;
+        turn = 0;
+        running = n;
+        for (int s = 0; s < 2; s++) {
+            Arrays.fill(hp[s], 0, n, t.initialHp[s]);
+            Arrays.fill(items[s], 0, n, t.potions[s] | t.enhancers[s]);
+            for (int k = 0; k < SLOTS; k++) {
+                Arrays.fill(boostUntil[s][k], 0, n, 0);
+                Arrays.fill(readyAt[s][k], 0, n, 0);
+            }
+        }
+        System.arraycopy(seeds, from, seed, 0, n);
+        System.arraycopy(gammas, from, gamma, 0, n);
+        Arrays.fill(result, 0, n, RUNNING);
+        Arrays.fill(turns, 0, n, 0);
+    }
+
+    /**
+     * Plays every lane to the end or to {@code maxTurns}, whichever comes first.
+     */
+    void run(BatchKernel kernel, int maxTurns) {
+        while (running > 0 && turn < maxTurns) {
+            kernel.playTurn(this);
+            turn++;
+        }
+        for (int i = 0; i < lanes; i++) {
+            if (result[i] == RUNNING) turns[i] = turn;
+        }
+    }
+
+    void collect(MatchupStats into) {
+        for (int i = 0; i < lanes; i++) {
+            BattleResult r = result[i] == VICTORY ? BattleResult.VICTORY
+                    : result[i] == DEFEAT ? BattleResult.DEFEAT : null;
+            into.record(r, turns[i], tables.initialHp[1] - hp[1][i], tables.initialHp[0] - hp[0][i]);
+        }
+    }
+
+    /* ── Reference rules ───────────────────────────────────────── */
+
+    /**
+     * One turn of one running lane. Both sides pick once the clocks have advanced, as in {@link Duel},
+     * then act in SPEED order.
+     */
+    void playLane(int i) {
+        int c = turn + 1;
+        int own = boosts(0, i, c), foe = boosts(1, i, c);
+        int p = decide(0, i, c, own, foe);
+        int e = decide(1, i, c, foe, own);
+
+        int sp = tables.speed[0][own], se = tables.speed[1][foe];
+        boolean playerFirst = sp > se || (sp == se && flip(i));
+        if (playerFirst) {
+            perform(0, i, c, p);
+            if (hp[0][i] > 0 && hp[1][i] > 0) perform(1, i, c, e);
+        } else {
+            perform(1, i, c, e);
+            if (hp[0][i] > 0 && hp[1][i] > 0) perform(0, i, c, p);
+        }
+        settle(i, c);
+    }
+
+    /** Records the lane's result if either side fell during turn {@code c}. */
+    void settle(int i, int c) {
+        if (hp[0][i] <= 0) finish(i, DEFEAT, c);
+        else if (hp[1][i] <= 0) finish(i, VICTORY, c);
+    }
+
+    private void finish(int i, int r, int c) {
+        result[i] = r;
+        turns[i] = c;
+        running--;
+    }
+
+    /** The lane's speed-tie coin, drawn from its own generator exactly as {@code Rng#nextBoolean} would. */
+    boolean flip(int i) {
+        return Rng.booleanAt(seed[i] += gamma[i]);
+    }
+
+    /** Which of side {@code s}'s boosts are running on turn {@code c}, as a slot bitmask. */
+    int boosts(int s, int i, int c) {
+        int m = 0;
+        for (int k = 0; k < SLOTS; k++) {
+            if (boostUntil[s][k][i] >= c) m |= 1 << k;
+        }
+        return m;
+    }
+
+    /**
+     * Side {@code s}'s {@link characters.AIRole#decide}, with spells judged ready on turn {@code clock}.
+     */
+    int decide(int s, int i, int clock, int own, int foe) {
+        BatchTables t = tables;
+        int o = 1 - s;
+        switch (t.role[s]) {
+            case BERSERKER:
+                return ActionCode.ATTACK;
+            case MAGE:
+                return spellAction(s, i, clock);
+            case MAGE_BOOSTER: {
+                int enhancer = firstHeld(items[s][i] & t.enhancers[s]);
+                return enhancer >= 0 ? ActionCode.item(enhancer) : spellAction(s, i, clock);
+            }
+            case MAGE_HEALER: {
+                int potion = firstHeld(items[s][i] & t.potions[s]);
+                return hp[s][i] < LOW_HP && potion >= 0 ? ActionCode.item(potion) : spellAction(s, i, clock);
+            }
+            case FIGHTER_HEALER: {
+                if (hp[o][i] < t.maxHp[o][foe] / 2) return ActionCode.ATTACK;
+                int potion = firstHeld(items[s][i] & t.potions[s]);
+                return hp[s][i] < LOW_HP && potion >= 0 ? ActionCode.item(potion) : ActionCode.ATTACK;
+            }
+            case FIGHTER_BOOSTER: {
+                if (hp[o][i] < t.maxHp[o][foe] / 2) return ActionCode.ATTACK;
+                int enhancer = firstHeld(items[s][i] & t.enhancers[s]);
+                return enhancer >= 0 ? ActionCode.item(enhancer) : ActionCode.ATTACK;
+            }
+            default:
+                throw new IllegalStateException("Not batchable: " + t.role[s]);
+        }
+    }
+
+    private int spellAction(int s, int i, int clock) {
+        for (int slot : tables.spellOrder[s]) {
+            if (slot >= 0 && readyAt[s][slot][i] <= clock) return ActionCode.spell(slot);
+        }
+        return ActionCode.ATTACK;
+    }
+
+    private static int firstHeld(int bits) {
+        return bits == 0 ? -1 : Integer.numberOfTrailingZeros(bits);
+    }
+
+    /** {@link battle.BattleSystem#perform} for side {@code s} on turn {@code c}. */
+    void perform(int s, int i, int c, int code) {
+        BatchTables t = tables;
+        int o = 1 - s;
+        int own = boosts(s, i, c), foe = boosts(o, i, c);
+
+        if (code == ActionCode.ATTACK) {
+            hp[o][i] -= t.attack[s][own * MASKS + foe];
+        } else if (ActionCode.isSpell(code)) {
+            int k = ActionCode.slot(code);
+            if (readyAt[s][k][i] > c) return; // still cooling down: castSpell does nothing
+            hp[o][i] -= absorbed(t.spell[s][k][own * MASKS + foe], t.maxHp[o][foe], hp[o][i]);
+            if (t.cooldown[s][k] > 0) readyAt[s][k][i] = c + t.cooldown[s][k];
+        } else {
+            int k = ActionCode.slot(code);
+            items[s][i] &= ~(1 << k);
+            if ((t.potions[s] >> k & 1) != 0) {
+                hp[s][i] = t.heal(s, k, own, hp[s][i]);
+            } else {
+                boostUntil[s][k][i] = c + t.boostTurns[s][k];
+            }
+        }
+    }
+
+    /** Spell damage after {@link battle.BattleSystem#castSpell}'s absorb cap. */
+    static int absorbed(int damage, int maxHp, int hp) {
+        return damage >= 0 ? damage : -Math.min(-damage, Math.max(0, maxHp - hp));
+    }
+}
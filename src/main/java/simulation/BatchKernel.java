@@ -0,0 +1,45 @@
+package simulation;
+
+import util.DeveloperLogger;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * Plays one turn for every running lane of a {@link BatchDuels}.
+ * Implementations must reproduce {@link BatchDuels#playLane} exactly.
+ */
+interface BatchKernel {
+
+    void playTurn(BatchDuels d);
+
+    String describe();
+
+    /** Lane by lane through the reference rules. */
+    BatchKernel SCALAR = new BatchKernel() {
+        @Override
+        public void playTurn(BatchDuels d) {
+            for (int i = 0; i < d.lanes; i++) {
+                if (d.result[i] == BatchDuels.RUNNING) d.playLane(i);
+            }
+        }
+
+        @Override
+        public String describe() {
+            return "scalar";
+        }
+    };
+
+    /**
+     * The Vector API kernel when it was built ({@code mvn -Pvector}) and the JVM runs with
+     * {@code --add-modules jdk.incubator.vector}, else {@link #SCALAR}.
+     */
+    static BatchKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return SCALAR;
+        try {
+            return (BatchKernel) Class.forName("simulation.VectorBatchKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            DeveloperLogger.info(BATTLE, "Vector kernel unavailable ({}), using scalar", e.toString());
+            return SCALAR;
+        }
+    }
+}
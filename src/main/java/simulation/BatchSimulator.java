@@ -0,0 +1,93 @@
+package simulation;
+
+import characters.Enemy;
+import util.DeveloperLogger;
+import util.Rng;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * {@link BalanceSimulator} for big sweeps: each matchup is flattened into {@link BatchTables} and its
+ * duels are played {@link #BLOCK} at a time as {@link BatchDuels} columns by the best {@link BatchKernel}.
+ * <p>
+ * Every duel draws from the same generator the object simulator would hand it, so the same seed
+ * gives the same report on either engine. Matchups the tables can't express (STRATEGIST, HP
+ * boosts, formulas reading HP) fall back to {@link DuelTask}.
+ */
+public class BatchSimulator {
+
+    static final int BLOCK = 4_096;
+
+    private final ForkJoinPool pool;
+    private final int duelsPerMatchup;
+    private final int maxTurns;
+    private final long seed;
+    private final BatchKernel kernel = BatchKernel.best();
+
+    public BatchSimulator(ForkJoinPool pool, int duelsPerMatchup, int maxTurns, long seed) {
+        this.pool = pool;
+        this.duelsPerMatchup = duelsPerMatchup;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+    }
+
+    /** Which kernel plays the duels, for the report. */
+    public String kernel() {
+        return kernel.describe();
+    }
+
+    public List<BalanceSimulator.MatchupResult> run(List<PlayerBuild> builds, Map<String, IntFunction<Enemy>> presets) {
+        Rng root = new Rng(seed);
+        List<ForkJoinTask<MatchupStats>> tasks = new ArrayList<>();
+        for (PlayerBuild build : builds) {
+            for (IntFunction<Enemy> preset : presets.values()) {
+                Rng rng = root.split();
+                tasks.add(pool.submit(() -> matchup(build, preset, duelsPerMatchup, rng)));
+            }
+        }
+
+        List<BalanceSimulator.MatchupResult> results = new ArrayList<>(tasks.size());
+        int i = 0;
+        for (PlayerBuild build : builds) {
+            for (String enemy : presets.keySet()) {
+                MatchupStats stats = tasks.get(i++).join();
+                DeveloperLogger.info(BATTLE, "{} vs {}: win rate {}", build.label(), enemy, stats.winRate());
+                results.add(new BalanceSimulator.MatchupResult(build, enemy, stats));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The {@code duels} a {@link DuelTask} on {@code rng} would play, on the current thread.
+     */
+    MatchupStats matchup(PlayerBuild build, IntFunction<Enemy> preset, int duels, Rng rng) {
+        BatchTables tables;
+        try {
+            tables = BatchTables.of(build, preset);
+        } catch (UnsupportedOperationException e) {
+            DeveloperLogger.info(BATTLE, "{}: {}, playing it on objects", build.label(), e.getMessage());
+            return new DuelTask(build, preset, duels, maxTurns, rng).compute();
+        }
+
+        long[] seeds = new long[duels];
+        long[] gammas = new long[duels];
+        DuelTask.splitSeeds(rng, duels, seeds, gammas, 0);
+
+        MatchupStats stats = new MatchupStats();
+        BatchDuels block = new BatchDuels(Math.min(duels, BLOCK));
+        for (int from = 0; from < duels; from += BLOCK) {
+            block.load(tables, seeds, gammas, from, Math.min(BLOCK, duels - from));
+            block.run(kernel, maxTurns);
+            block.collect(stats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,202 @@
+package simulation;
+
+import battle.formula.Formulas;
+import characters.AIRole;
+import characters.Enemy;
+import characters.Entity;
+import items.consumables.Consumable;
+import items.consumables.Potion;
+import items.consumables.StatEnhancer;
+import spells.ElementalAffinity;
+import spells.Spell;
+
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+import static characters.StatsType.HP;
+import static characters.StatsType.MAX_HP;
+import static characters.StatsType.SPEED;
+
+/**
+ * One matchup flattened into lookup tables for {@link BatchDuels}.
+ * <p>
+ * Each side has up to {@link #SLOTS} consumables, each used at most once, so its gear
+ * can only be in {@link #MASKS} boost states: bit k is set while slot k's boost is running.
+ * Every number the formulas produce is evaluated here, once per state, on copies of the real
+ * entities. The kernels then only do indexed reads. Side 0 is the player, side 1 the enemy.
+ * <p>
+ * Potions and boosts go through the real {@link Consumable#use}. Attack and spell damage
+ * come from the same formulas {@link battle.BattleSystem} uses. Those two formulas must not
+ * read HP, and no enhancer may boost HP; matchups that break either rule are rejected.
+ */
+final class BatchTables {
+
+    static final int SLOTS = 3;
+    static final int MASKS = 1 << SLOTS;
+
+    final AIRole[] role = new AIRole[2];
+    final int[] initialHp = new int[2];
+    final int[] potions = new int[2];         // slot bits holding a potion
+    final int[] enhancers = new int[2];       // slot bits holding an enhancer
+    final int[][] boostTurns = new int[2][SLOTS]; // extra turns a slot's boost lasts after the one it is used
+    final int[][] cooldown = new int[2][SLOTS];
+    /* Ready spell slots in the order resolveSpellAction prefers them, -1 padded */
+    final int[][] spellOrder = new int[2][SLOTS];
+
+    /* [side][mask] */
+    final int[][] speed = new int[2][MASKS];
+    final int[][] maxHp = new int[2][MASKS];
+    /* [side][ownMask * MASKS + foeMask] */
+    final int[][] attack = new int[2][MASKS * MASKS];
+    /* [side][slot][ownMask * MASKS + foeMask] */
+    final int[][][] spell = new int[2][SLOTS][MASKS * MASKS];
+    /* [side][slot][mask][hp]: HP after drinking, for hp in 0..healRange[side] */
+    final int[][][][] healTo = new int[2][SLOTS][][];
+    final int[] healRange = new int[2];
+
+    private final Entity[][] states = new Entity[2][MASKS];
+    private final Consumable[][] items = new Consumable[2][SLOTS];
+
+    private BatchTables() {
+    }
+
+    /**
+     * @throws UnsupportedOperationException when a role, item or formula can't be tabled;
+     *                                       use {@link BalanceSimulator} for that matchup
+     */
+    static BatchTables of(PlayerBuild build, IntFunction<Enemy> preset) {
+        BatchTables t = new BatchTables();
+        Enemy enemy = preset.apply(build.level());
+        t.side(0, build.create(), build.policy());
+        if (!(enemy.getBehaviour() instanceof AIRole role)) {
+            throw new UnsupportedOperationException(enemy.getName() + " plays " + enemy.getBehaviour() + ", which isn't tabled");
+        }
+        t.side(1, enemy, role);
+        for (int s = 0; s < 2; s++) t.damage(s);
+        return t;
+    }
+
+    private void side(int s, Entity e, AIRole r) {
+        if (r == AIRole.STRATEGIST) {
+            throw new UnsupportedOperationException(r + " searches the live rules and can't be batched");
+        }
+        role[s] = r;
+        initialHp[s] = e.getStat(HP);
+
+        Consumable[] slots = e.getConsumablesEquipped();
+        for (int k = 0; k < SLOTS; k++) {
+            Consumable c = slots[k];
+            items[s][k] = c;
+            if (c instanceof Potion) {
+                potions[s] |= 1 << k;
+            } else if (c instanceof StatEnhancer se) {
+                if (se.getStatToBoost() == HP) {
+                    throw new UnsupportedOperationException(se.getName() + " boosts HP, which the batch columns don't track");
+                }
+                enhancers[s] |= 1 << k;
+                boostTurns[s][k] = Math.max(se.getLength(), 1) - 1;
+            } else if (c != null) {
+                throw new UnsupportedOperationException("Unknown consumable " + c.getName());
+            }
+            Spell sp = e.getSpellsEquipped()[k];
+            cooldown[s][k] = sp != null ? Math.max(sp.getCooldown(), 0) : 0;
+        }
+
+        // Boosts are always used lowest slot first (DecisionTable.itemSlot), so apply them in that order
+        for (int mask = 0; mask < MASKS; mask++) {
+            Entity copy = e.copyForBattle();
+            for (int k = 0; k < SLOTS; k++) {
+                if ((mask >> k & 1) != 0 && items[s][k] instanceof StatEnhancer se) se.use(copy);
+            }
+            states[s][mask] = copy;
+            speed[s][mask] = copy.getStat(SPEED);
+            maxHp[s][mask] = copy.getStat(MAX_HP);
+            healRange[s] = Math.max(healRange[s], copy.getStat(MAX_HP));
+        }
+
+        for (int k = 0; k < SLOTS; k++) {
+            if (!(items[s][k] instanceof Potion)) continue;
+            healTo[s][k] = new int[MASKS][healRange[s] + 1];
+            for (int mask = 0; mask < MASKS; mask++) {
+                for (int hp = 0; hp <= healRange[s]; hp++) {
+                    healTo[s][k][mask][hp] = drink(s, k, mask, hp);
+                }
+            }
+        }
+    }
+
+    private void damage(int s) {
+        Entity[] own = states[s];
+        Entity[] foe = states[1 - s];
+        Spell[] spells = own[0].getSpellsEquipped();
+
+        for (int a = 0; a < MASKS; a++) {
+            for (int f = 0; f < MASKS; f++) {
+                Entity actor = own[a], target = foe[f];
+                attack[s][a * MASKS + f] = hpIndependent("attack", actor, target,
+                        () -> Formulas.ATTACK.evalInt(actor, target, 0, 0, 1));
+                for (int k = 0; k < SLOTS; k++) {
+                    Spell sp = spells[k];
+                    if (sp == null) continue;
+                    spell[s][k][a * MASKS + f] = hpIndependent("spell", actor, target,
+                            () -> Formulas.SPELL.evalInt(actor, target, sp.getDamage(), 0, ElementalAffinity.of(sp, target)));
+                }
+            }
+        }
+
+        // Highest affinity first, lowest slot on ties; immune and absorbing spells are never picked
+        int n = 0;
+        for (int pick = 0; pick < SLOTS; pick++) {
+            int best = -1;
+            double bestAffinity = 0;
+            for (int k = 0; k < SLOTS; k++) {
+                if (spells[k] == null || contains(spellOrder[s], n, k)) continue;
+                double m = ElementalAffinity.of(spells[k], foe[0]);
+                if (m > bestAffinity) {
+                    best = k;
+                    bestAffinity = m;
+                }
+            }
+            if (best >= 0) spellOrder[s][n++] = best;
+        }
+        for (int i = n; i < SLOTS; i++) spellOrder[s][i] = -1;
+    }
+
+    /**
+     * HP after side {@code s} drinks the potion in {@code slot} at {@code hp}; the kernels'
+     * slow path for an hp outside the table.
+     */
+    int heal(int s, int slot, int mask, int hp) {
+        int[] row = healTo[s][slot][mask];
+        return hp >= 0 && hp < row.length ? row[hp] : drink(s, slot, mask, hp);
+    }
+
+    private int drink(int s, int slot, int mask, int hp) {
+        Entity e = states[s][mask];
+        int before = e.getBaseStat(HP);
+        e.setStat(HP, hp);
+        items[s][slot].use(e);
+        int after = e.getStat(HP);
+        e.setStat(HP, before);
+        return after;
+    }
+
+    private static int hpIndependent(String what, Entity own, Entity foe, IntSupplier f) {
+        int full = f.getAsInt();
+        int ownHp = own.getBaseStat(HP), foeHp = foe.getBaseStat(HP);
+        own.setStat(HP, 1);
+        foe.setStat(HP, 1);
+        int low = f.getAsInt();
+        own.setStat(HP, ownHp);
+        foe.setStat(HP, foeHp);
+        if (low != full) {
+            throw new UnsupportedOperationException("The " + what + " formula reads HP, which the batch tables can't follow");
+        }
+        return full;
+    }
+
+    private static boolean contains(int[] a, int n, int v) {
+        for (int i = 0; i < n; i++) if (a[i] == v) return true;
+        return false;
+    }
+}
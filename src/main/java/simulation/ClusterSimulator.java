@@ -0,0 +1,303 @@
+package simulation;
+
+import battle.ai.MctsPlanner;
+import characters.Enemy;
+import characters.EnemyFactory;
+import util.DeveloperLogger;
+import util.Rng;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * {@link BalanceSimulator} across several {@link ClusterWorker} JVMs on this machine, so no single heap
+ * or GC holds the whole job. Each matchup is cut into {@link Shard}s along its {@link DuelTask} split,
+ * and the shards are dealt out to per-worker deques up front. A worker takes from the front of its own
+ * deque, and once that is empty it steals from the back of the fullest one. A worker that dies has its
+ * unfinished shards put back and is replaced. Results are sums, so the same seed gives the same report
+ * as the single-JVM engines whoever played what.
+ * <p>
+ * Workers speak {@link DataOutputStream} frames over their stdin/stdout; they are started with this
+ * JVM's classpath and {@code textadv.*} properties, so they load the same content.
+ */
+public class ClusterSimulator {
+
+    /* A matchup is cut no finer than this many duels */
+    static final int SHARD_DUELS = 8 * DuelTask.THRESHOLD;
+    /* Workers one shard may take down with it before the job is given up */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final int workers;
+    private final int threadsPerWorker;
+    private final String engine;
+    private final int duelsPerMatchup;
+    private final int maxTurns;
+    private final long seed;
+
+    /* Scheduling state, guarded by this */
+    private final List<Link> links = new ArrayList<>();
+    private final Deque<Shard> orphans = new ArrayDeque<>();
+    private final Set<Integer> done = new HashSet<>();
+    private MatchupStats[] stats;
+    private int[] attempts;
+    private int remaining;
+    private int respawns;
+    private RuntimeException failure;
+
+    /**
+     * @param engine "objects" or "batch", as in {@code Simulate --engine}
+     */
+    public ClusterSimulator(int workers, int threadsPerWorker, String engine,
+                            int duelsPerMatchup, int maxTurns, long seed) {
+        this.workers = workers;
+        this.threadsPerWorker = threadsPerWorker;
+        this.engine = engine;
+        this.duelsPerMatchup = duelsPerMatchup;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a preset is not one of {@link EnemyFactory#PRESETS},
+     *                                  the only ones a worker can rebuild by name
+     * @throws IllegalStateException    if a shard keeps failing, or no worker can be started
+     */
+    public List<BalanceSimulator.MatchupResult> run(List<PlayerBuild> builds, Map<String, IntFunction<Enemy>> presets) {
+        presets.forEach((name, preset) -> {
+            if (EnemyFactory.PRESETS.get(name) != preset) {
+                throw new IllegalArgumentException("Workers only know EnemyFactory.PRESETS, not " + name);
+            }
+        });
+
+        Rng root = new Rng(seed);
+        List<Shard> shards = new ArrayList<>();
+        int matchups = 0;
+        for (PlayerBuild build : builds) {
+            for (String enemy : presets.keySet()) {
+                cut(shards, matchups++, build, enemy, duelsPerMatchup, root.split());
+            }
+        }
+
+        synchronized (this) {
+            stats = new MatchupStats[matchups];
+            for (int i = 0; i < matchups; i++) stats[i] = new MatchupStats();
+            attempts = new int[shards.size()];
+            remaining = shards.size();
+            try {
+                for (int w = 0; w < workers; w++) {
+                    // Contiguous runs, so a worker mostly stays on the same few matchups
+                    Link link = spawn(w);
+                    link.queue.addAll(shards.subList(w * shards.size() / workers, (w + 1) * shards.size() / workers));
+                }
+                List.copyOf(links).forEach(this::feed);
+                while (remaining > 0 && failure == null) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new IllegalStateException("Interrupted", e);
+            } finally {
+                links.forEach(Link::stop);
+            }
+            if (failure != null) throw failure;
+        }
+
+        List<BalanceSimulator.MatchupResult> results = new ArrayList<>(matchups);
+        int i = 0;
+        for (PlayerBuild build : builds) {
+            for (String enemy : presets.keySet()) {
+                MatchupStats s = stats[i++];
+                DeveloperLogger.info(BATTLE, "{} vs {}: win rate {}", build.label(), enemy, s.winRate());
+                results.add(new BalanceSimulator.MatchupResult(build, enemy, s));
+            }
+        }
+        return results;
+    }
+
+    /** Splits like {@link DuelTask#compute} until a piece is at most {@link #SHARD_DUELS}. */
+    private static void cut(List<Shard> into, int matchup, PlayerBuild build, String enemy, int duels, Rng rng) {
+        if (duels <= SHARD_DUELS || duels <= DuelTask.THRESHOLD) {
+            into.add(new Shard(into.size(), matchup, build, enemy, duels, rng.getSeed(), rng.getGamma()));
+            return;
+        }
+        int half = duels / 2;
+        Rng left = rng.split();
+        Rng right = rng.split();
+        cut(into, matchup, build, enemy, half, left);
+        cut(into, matchup, build, enemy, duels - half, right);
+    }
+
+    /* ── Scheduling (all under this) ───────────────────────────── */
+
+    /** Keeps a worker's pipeline full: its pool's threads busy plus one shard waiting. */
+    private void feed(Link link) {
+        while (link.alive && link.inFlight.size() <= threadsPerWorker) {
+            Shard next = next(link);
+            if (next == null) return;
+            link.inFlight.add(next);
+            if (!link.send(next)) return; // send already buried the link
+        }
+    }
+
+    private Shard next(Link link) {
+        if (!orphans.isEmpty()) return orphans.pollFirst();
+        if (!link.queue.isEmpty()) return link.queue.pollFirst();
+        Link victim = null;
+        for (Link l : links) {
+            if (!l.queue.isEmpty() && (victim == null || l.queue.size() > victim.queue.size())) victim = l;
+        }
+        if (victim == null) return null;
+        DeveloperLogger.debug(BATTLE, "worker {} steals from worker {}", link.id, victim.id);
+        return victim.queue.pollLast();
+    }
+
+    private synchronized void completed(Link link, int id, MatchupStats s) {
+        Shard shard = link.take(id);
+        if (shard == null || !done.add(id)) return; // already settled elsewhere
+        stats[shard.matchup()].merge(s);
+        if (--remaining == 0) notifyAll();
+        feed(link);
+    }
+
+    private synchronized void failed(Link link, int id, String error) {
+        failure = new IllegalStateException("Shard " + id + " failed on worker " + link.id + ": " + error);
+        notifyAll();
+    }
+
+    /** A worker is gone: its work goes back to the others, and a fresh worker takes its place. */
+    private synchronized void buried(Link link, String why) {
+        if (!link.alive) return;
+        link.alive = false;
+        link.process.destroyForcibly();
+        if (remaining == 0 || failure != null) return;
+        DeveloperLogger.warn(BATTLE, "worker {} lost ({}), reassigning its shards", link.id, why);
+
+        for (Shard s : link.inFlight) {
+            if (++attempts[s.id()] >= MAX_ATTEMPTS) {
+                failure = new IllegalStateException("Shard " + s.id() + " took down " + MAX_ATTEMPTS + " workers");
+                notifyAll();
+                return;
+            }
+            orphans.addFirst(s);
+        }
+        link.inFlight.clear();
+        orphans.addAll(link.queue);
+        link.queue.clear();
+
+        if (respawns++ < workers) {
+            try {
+                spawn(links.size());
+            } catch (IllegalStateException e) {
+                DeveloperLogger.warn(BATTLE, e.getMessage());
+            }
+        }
+        if (links.stream().noneMatch(l -> l.alive)) {
+            failure = new IllegalStateException("Every worker died; last: " + why);
+            notifyAll();
+            return;
+        }
+        for (Link l : List.copyOf(links)) feed(l);
+    }
+
+    private Link spawn(int id) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            cmd.add("--add-modules=jdk.incubator.vector");
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("textadv.")) cmd.add("-D" + key + "=" + System.getProperty(key));
+        }
+        cmd.add("-Dtextadv.mcts.budgetMs=" + MctsPlanner.getBudgetMillis());
+        cmd.addAll(List.of("-cp", System.getProperty("java.class.path"), ClusterWorker.class.getName(),
+                "--threads", String.valueOf(threadsPerWorker), "--engine", engine,
+                "--max-turns", String.valueOf(maxTurns)));
+        try {
+            Process p = new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            Link link = new Link(id, p);
+            links.add(link);
+            Thread.ofVirtual().name("cluster-worker-" + id).start(link::listen);
+            return link;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start a worker: " + e.getMessage(), e);
+        }
+    }
+
+    /* ── One worker process ────────────────────────────────────── */
+
+    private final class Link {
+        final int id;
+        final Process process;
+        final DataOutputStream out;
+        final Deque<Shard> queue = new ArrayDeque<>();
+        final List<Shard> inFlight = new ArrayList<>();
+        boolean alive = true;
+
+        Link(int id, Process process) {
+            this.id = id;
+            this.process = process;
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        }
+
+        /* Called under the simulator's lock */
+        boolean send(Shard shard) {
+            try {
+                out.writeByte(ClusterWorker.SHARD);
+                shard.write(out);
+                out.flush();
+                return true;
+            } catch (IOException e) {
+                buried(this, e.getMessage());
+                return false;
+            }
+        }
+
+        Shard take(int shardId) {
+            for (int i = 0; i < inFlight.size(); i++) {
+                if (inFlight.get(i).id() == shardId) return inFlight.remove(i);
+            }
+            return null;
+        }
+
+        void stop() {
+            if (!alive) return;
+            alive = false;
+            try {
+                out.writeByte(ClusterWorker.STOP);
+                out.close();
+            } catch (IOException e) {
+                process.destroyForcibly();
+            }
+        }
+
+        /* Reader side, on its own virtual thread */
+        void listen() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+                while (true) {
+                    int kind = in.read();
+                    if (kind < 0) break;
+                    int shard = in.readInt();
+                    if (kind == ClusterWorker.RESULT) completed(this, shard, MatchupStats.read(in));
+                    else failed(this, shard, in.readUTF());
+                }
+                buried(this, "exit code " + process.waitFor());
+            } catch (IOException e) {
+                buried(this, e.getMessage());
+            } catch (InterruptedException e) {
+                buried(this, "interrupted");
+            }
+        }
+    }
+}
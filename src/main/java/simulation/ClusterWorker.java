@@ -0,0 +1,114 @@
+package simulation;
+
+import characters.Enemy;
+import characters.EnemyFactory;
+import util.DeveloperLogger;
+import util.ItemRegistry;
+import util.Rng;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * A {@link ClusterSimulator} worker JVM. It reads {@link Shard}s from stdin, plays each one on its own
+ * pool, and writes back a {@link #RESULT} (or {@link #FAILED}) frame on stdout. With
+ * {@code -Dtextadv.log} set it logs to stderr.
+ * <pre>
+ * java -cp ... simulation.ClusterWorker --threads 4 --engine objects --max-turns 200
+ * </pre>
+ */
+public final class ClusterWorker {
+
+    /* Coordinator to worker */
+    static final int SHARD = 1, STOP = 2;
+    /* Worker to coordinator */
+    static final int RESULT = 1, FAILED = 2;
+
+    private final DataOutputStream out;
+    private final ForkJoinPool pool;
+    private final BatchSimulator batch;
+    private final int maxTurns;
+
+    private ClusterWorker(DataOutputStream out, int threads, boolean batch, int maxTurns) {
+        this.out = out;
+        this.pool = new ForkJoinPool(threads);
+        this.batch = batch ? new BatchSimulator(pool, 0, maxTurns, 0) : null;
+        this.maxTurns = maxTurns;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int threads = 1, maxTurns = 200;
+        boolean batch = false;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--engine" -> batch = args[i + 1].equals("batch");
+                case "--max-turns" -> maxTurns = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        // stdout carries frames only; anything else printed goes to stderr
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+        if (System.getProperty("textadv.log") != null) DeveloperLogger.setSink(System.err::println);
+        ItemRegistry.loadAllItems();
+
+        new ClusterWorker(out, threads, batch, maxTurns).serve(new DataInputStream(new BufferedInputStream(System.in)));
+    }
+
+    private void serve(DataInputStream in) throws IOException {
+        try {
+            while (in.readByte() == SHARD) {
+                Shard shard = Shard.read(in);
+                Thread.startVirtualThread(() -> play(shard));
+            }
+        } catch (EOFException e) {
+            // coordinator went away: nothing left to report to
+        }
+        pool.shutdownNow();
+        System.exit(0);
+    }
+
+    private void play(Shard shard) {
+        MatchupStats stats;
+        try {
+            IntFunction<Enemy> preset = EnemyFactory.PRESETS.get(shard.preset());
+            if (preset == null) throw new IllegalArgumentException("Unknown preset " + shard.preset());
+            Rng rng = Rng.resume(shard.seed(), shard.gamma());
+            stats = batch != null
+                    ? pool.submit(() -> batch.matchup(shard.build(), preset, shard.duels(), rng)).join()
+                    : pool.invoke(new DuelTask(shard.build(), preset, shard.duels(), maxTurns, rng));
+        } catch (RuntimeException e) {
+            DeveloperLogger.error(BATTLE, "shard {} failed: {}", shard.id(), e);
+            send(FAILED, shard.id(), null, String.valueOf(e));
+            return;
+        }
+        send(RESULT, shard.id(), stats, null);
+    }
+
+    private void send(int kind, int shard, MatchupStats stats, String error) {
+        synchronized (out) {
+            try {
+                out.writeByte(kind);
+                out.writeInt(shard);
+                if (stats != null) stats.write(out);
+                else out.writeUTF(error);
+                out.flush();
+            } catch (IOException e) {
+                System.exit(1); // coordinator gone
+            }
+        }
+    }
+}
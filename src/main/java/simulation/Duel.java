@@ -0,0 +1,59 @@
+package simulation;
+
+import battle.BattleEngine;
+import battle.BattleState;
+import battle.actions.ActionCode;
+import battle.stats.BattleStatsStore;
+import characters.Enemy;
+import characters.Player;
+import characters.StatsType;
+import util.DeveloperLogger;
+import util.DeveloperLogger.Level;
+import util.Rng;
+
+import java.util.function.IntFunction;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * Plays one headless duel to the end and records it.
+ */
+final class Duel {
+
+    static void run(PlayerBuild build, IntFunction<Enemy> preset, int maxTurns, Rng rng, MatchupStats into) {
+        run(build, preset, maxTurns, rng, into, null);
+    }
+
+    /** As above, also adding a row to {@code rows} when it isn't null. */
+    static void run(PlayerBuild build, IntFunction<Enemy> preset, int maxTurns, Rng rng, MatchupStats into,
+                    BattleStatsStore.Appender rows) {
+        Player player = build.create();
+        Enemy enemy = preset.apply(build.level());
+        int playerHp = player.getStat(StatsType.HP);
+        int enemyHp = enemy.getStat(StatsType.HP);
+
+        BattleState state = new BattleState(player, enemy, rng);
+        int[] actions = rows != null ? new int[ActionCode.COUNT] : null;
+        while (!state.isOver() && state.getTurn() < maxTurns) {
+            // BattleEngine.playTurn, spelled out to count the player's moves
+            BattleEngine.beginTurn(state);
+            int code = build.policy().decide(player, enemy);
+            if (actions != null) actions[code]++;
+            BattleEngine.resolveTurn(state, code, enemy.getBehaviour().decide(enemy, player));
+        }
+
+        if (DeveloperLogger.isEnabled(BATTLE, Level.DEBUG)) {
+            DeveloperLogger.log(BATTLE, Level.DEBUG, "{} vs {}: {} after {} turns",
+                    build.label(), enemy.getName(), state.getResult(), state.getTurn());
+        }
+        int dealt = enemyHp - enemy.getStat(StatsType.HP);
+        int taken = playerHp - player.getStat(StatsType.HP);
+        into.record(state.getResult(), state.getTurn(), dealt, taken);
+        if (rows != null) {
+            rows.add(enemy.getName(), build.level(), state.getResult(), state.getTurn(), dealt, taken,
+                    player.getSpellsEquipped(), actions, true);
+        }
+    }
+
+    private Duel() { /* utility */ }
+}
@@ -0,0 +1,88 @@
+package simulation;
+
+import battle.stats.BattleStatsStore;
+import characters.Enemy;
+import util.Rng;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Splits a batch of identical duels in halves until it is small enough to run inline.
+ * Each half gets its own split of the parent's {@link Rng}, so results do not depend on
+ * which worker ends up running which half.
+ */
+class DuelTask extends RecursiveTask<MatchupStats> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    static final int THRESHOLD = 1_024;
+
+    /* ForkJoinTask is Serializable, but a duel batch only ever runs in this JVM */
+    private final transient PlayerBuild build;
+    private final transient IntFunction<Enemy> preset;
+    private final int duels;
+    private final int maxTurns;
+    private final transient Rng rng;
+    private final transient BattleStatsStore store; // null: don't record rows
+
+    DuelTask(PlayerBuild build, IntFunction<Enemy> preset, int duels, int maxTurns, Rng rng) {
+        this(build, preset, duels, maxTurns, rng, null);
+    }
+
+    DuelTask(PlayerBuild build, IntFunction<Enemy> preset, int duels, int maxTurns, Rng rng, BattleStatsStore store) {
+        this.build = build;
+        this.preset = preset;
+        this.duels = duels;
+        this.maxTurns = maxTurns;
+        this.rng = rng;
+        this.store = store;
+    }
+
+    @Override
+    protected MatchupStats compute() {
+        if (duels <= THRESHOLD) {
+            MatchupStats stats = new MatchupStats();
+            if (store == null) {
+                for (int i = 0; i < duels; i++) {
+                    Duel.run(build, preset, maxTurns, rng.split(), stats);
+                }
+                return stats;
+            }
+            try (BattleStatsStore.Appender rows = store.appender()) {
+                for (int i = 0; i < duels; i++) {
+                    Duel.run(build, preset, maxTurns, rng.split(), stats, rows);
+                }
+            }
+            return stats;
+        }
+        int half = duels / 2;
+        DuelTask left = new DuelTask(build, preset, half, maxTurns, rng.split(), store);
+        DuelTask right = new DuelTask(build, preset, duels - half, maxTurns, rng.split(), store);
+        left.fork();
+        MatchupStats r = right.compute();
+        return left.join().merge(r);
+    }
+
+    /**
+     * The generator each duel gets from {@link #compute} on {@code rng}, in the same order,
+     * written to {@code seeds/gammas[at..at+duels)}. Keep in step with the splitting above.
+     */
+    static void splitSeeds(Rng rng, int duels, long[] seeds, long[] gammas, int at) {
+        if (duels <= THRESHOLD) {
+            for (int i = 0; i < duels; i++) {
+                Rng r = rng.split();
+                seeds[at + i] = r.getSeed();
+                gammas[at + i] = r.getGamma();
+            }
+            return;
+        }
+        int half = duels / 2;
+        Rng left = rng.split();
+        Rng right = rng.split();
+        splitSeeds(left, half, seeds, gammas, at);
+        splitSeeds(right, duels - half, seeds, gammas, at + half);
+    }
+}
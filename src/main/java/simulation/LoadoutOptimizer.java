@@ -0,0 +1,269 @@
+package simulation;
+
+import characters.AIRole;
+import characters.StatsType;
+import items.Item;
+import items.equip.Armor;
+import items.equip.Weapon;
+import spells.ElementalType;
+import spells.SpellType;
+import util.DeveloperLogger;
+import util.ItemRegistry;
+import util.Rng;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static util.DeveloperLogger.Category.BATTLE;
+
+/**
+ * Searches player builds for the best chance of clearing a {@link MissionLineup}. A build is a weapon, an
+ * armor, a starting boost, an elemental weakness and up to three spells, from the loaded content.
+ * <p>
+ * A genetic search over that space finds good builds. Each fight is scored with {@link BatchSimulator}
+ * duels, all fights of all new builds in parallel on the pool. Every build sees the same generator per
+ * fight (common random numbers), so builds are compared on the same luck and a score can be cached
+ * per build. Builds from the finals are then played again with more duels and a fresh seed. The
+ * confidence interval comes from that second round, and so does the ranking.
+ * <p>
+ * The player's HP is restored after every battle, so a mission's clear rate is the product over its
+ * stages of the best win rate among that stage's routes.
+ */
+public class LoadoutOptimizer {
+
+    /** Duels per fight in the confirming round, as a multiple of the search's. */
+    static final int CONFIRM_FACTOR = 4;
+    private static final int MAX_SPELLS = 3;
+    private static final StatsType[] BOOSTS = {StatsType.STRENGTH, StatsType.INTELLIGENCE}; // the tutorial's choices
+    private static final ElementalType[] WEAKNESSES = {ElementalType.FIRE, ElementalType.ICE, ElementalType.NATURE};
+    private static final SpellType[] SPELLS = SpellType.values();
+    private static final double Z95 = 1.96;
+
+    /**
+     * A build's result from the confirming round.
+     *
+     * @param low      lower 95% bound: the product over stages of each fight's Wilson lower bound
+     * @param winRates per fight, by {@link MissionLineup.Foe#label()}
+     */
+    public record Ranked(PlayerBuild build, double clearRate, double low, double high, Map<String, Double> winRates) {
+    }
+
+    /* Genes: indexes into the option lists, spells as a bitmask over SPELLS */
+    private record Genome(int weapon, int armor, int boost, int weakness, int spells) {
+    }
+
+    private final ForkJoinPool pool;
+    private final int duelsPerFight;
+    private final int maxTurns;
+    private final long seed;
+    private final List<String> weapons = idsOf(Weapon.class);
+    private final List<String> armors = idsOf(Armor.class);
+
+    public LoadoutOptimizer(ForkJoinPool pool, int duelsPerFight, int maxTurns, long seed) {
+        this.pool = pool;
+        this.duelsPerFight = duelsPerFight;
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+        if (weapons.isEmpty() || armors.isEmpty()) {
+            throw new IllegalStateException("No weapons or armor loaded; call ItemRegistry.loadAllItems() first");
+        }
+    }
+
+    /**
+     * @return the {@code top} builds, best first
+     */
+    public List<Ranked> optimize(MissionLineup lineup, int level, int population, int generations, int top) {
+        Rng root = new Rng(seed);
+        Rng rng = root.split();
+        Evaluator search = new Evaluator(lineup, level, duelsPerFight, root.split().nextLong());
+
+        List<Genome> pop = new ArrayList<>(population);
+        for (int i = 0; i < population; i++) pop.add(random(rng));
+
+        for (int gen = 0; gen < generations; gen++) {
+            List<PlayerBuild> builds = pop.stream().map(g -> build(g, level)).toList();
+            Map<PlayerBuild, double[]> scores = search.score(builds);
+            List<Genome> ranked = new ArrayList<>(pop);
+            ranked.sort(Comparator.comparing((Genome g) -> scores.get(build(g, level)), BY_FITNESS));
+            DeveloperLogger.info(BATTLE, "{} generation {}: best clear rate {}", lineup.mission(), gen,
+                    clearRate(lineup, scores.get(build(ranked.get(0), level))));
+            if (gen == generations - 1) break;
+
+            List<Genome> next = new ArrayList<>(population);
+            next.add(ranked.get(0)); // elitism: the two best always survive
+            if (population > 1) next.add(ranked.get(1));
+            while (next.size() < population) {
+                Genome child = crossover(tournament(ranked, rng), tournament(ranked, rng), rng);
+                next.add(mutate(child, rng));
+            }
+            pop = next;
+        }
+
+        // Finals: the best builds seen anywhere in the search, replayed on new luck
+        List<PlayerBuild> finalists = search.cache.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(BY_FITNESS))
+                .limit(top)
+                .map(Map.Entry::getKey)
+                .toList();
+        Evaluator confirm = new Evaluator(lineup, level, duelsPerFight * CONFIRM_FACTOR, root.split().nextLong());
+        Map<PlayerBuild, double[]> confirmed = confirm.score(finalists);
+
+        List<Ranked> result = new ArrayList<>();
+        List<MissionLineup.Foe> foes = lineup.foes();
+        int n = confirm.duels;
+        for (PlayerBuild b : finalists) {
+            double[] w = confirmed.get(b);
+            double[] lo = new double[w.length - 1], hi = new double[w.length - 1];
+            Map<String, Double> rates = new LinkedHashMap<>();
+            for (int i = 0; i < foes.size(); i++) {
+                lo[i] = wilson(w[i], n, -Z95);
+                hi[i] = wilson(w[i], n, Z95);
+                rates.put(foes.get(i).label(), w[i]);
+            }
+            result.add(new Ranked(b, clearRate(lineup, w), clearRate(lineup, lo), clearRate(lineup, hi), rates));
+        }
+        result.sort(Comparator.comparingDouble(Ranked::clearRate).reversed());
+        return result;
+    }
+
+    /* ── Scoring ───────────────────────────────────────────────── */
+
+    /* Fitness array: win rate per fight in lineup.foes() order, then the mean, as a tiebreak */
+    private static final Comparator<double[]> BY_FITNESS = Comparator.<double[]>comparingDouble(w -> w[w.length - 1]).reversed();
+
+    private final class Evaluator {
+        final MissionLineup lineup;
+        final int level;
+        final int duels;
+        final List<MissionLineup.Foe> foes;
+        final long[] seeds, gammas; // one generator per fight, the same for every build
+        final BatchSimulator batch;
+        final Map<PlayerBuild, double[]> cache = new ConcurrentHashMap<>();
+
+        Evaluator(MissionLineup lineup, int level, int duels, long seed) {
+            this.lineup = lineup;
+            this.level = level;
+            this.duels = duels;
+            this.foes = lineup.foes();
+            this.batch = new BatchSimulator(pool, duels, maxTurns, seed);
+            Rng root = new Rng(seed);
+            seeds = new long[foes.size()];
+            gammas = new long[foes.size()];
+            for (int i = 0; i < foes.size(); i++) {
+                Rng r = root.split();
+                seeds[i] = r.getSeed();
+                gammas[i] = r.getGamma();
+            }
+        }
+
+        /** Scores every build not seen before, one pool task per fight; the result includes cached ones. */
+        Map<PlayerBuild, double[]> score(List<PlayerBuild> builds) {
+            Map<PlayerBuild, List<ForkJoinTask<MatchupStats>>> pending = new LinkedHashMap<>();
+            for (PlayerBuild b : builds) {
+                if (cache.containsKey(b) || pending.containsKey(b)) continue;
+                List<ForkJoinTask<MatchupStats>> fights = new ArrayList<>(foes.size());
+                for (int i = 0; i < foes.size(); i++) {
+                    MissionLineup.Foe foe = foes.get(i);
+                    Rng r = Rng.resume(seeds[i], gammas[i]);
+                    fights.add(pool.submit(() -> batch.matchup(b, foe.factory(), duels, r)));
+                }
+                pending.put(b, fights);
+            }
+            pending.forEach((b, fights) -> {
+                double[] w = new double[foes.size() + 1];
+                for (int i = 0; i < foes.size(); i++) {
+                    w[i] = fights.get(i).join().winRate();
+                    w[foes.size()] += w[i] / foes.size();
+                }
+                w[foes.size()] = clearRate(lineup, w) + w[foes.size()] * 1e-3; // clear rate first, mean breaks ties
+                cache.put(b, w);
+            });
+            Map<PlayerBuild, double[]> out = new LinkedHashMap<>();
+            for (PlayerBuild b : builds) out.put(b, cache.get(b));
+            return out;
+        }
+    }
+
+    /** Product over the stages of the best route's value, reading {@code perFight} in {@code foes()} order. */
+    static double clearRate(MissionLineup lineup, double[] perFight) {
+        List<MissionLineup.Foe> foes = lineup.foes();
+        double p = 1;
+        for (List<MissionLineup.Foe> stage : lineup.stages()) {
+            double best = 0;
+            for (MissionLineup.Foe f : stage) best = Math.max(best, perFight[foes.indexOf(f)]);
+            p *= best;
+        }
+        return p;
+    }
+
+    /** Wilson score bound for a proportion {@code p} out of {@code n}; {@code z} < 0 for the lower one. */
+    static double wilson(double p, int n, double z) {
+        double z2 = z * z;
+        double centre = p + z2 / (2 * n);
+        double spread = z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n));
+        return Math.min(1, Math.max(0, (centre + spread) / (1 + z2 / n)));
+    }
+
+    /* ── Genetics ──────────────────────────────────────────────── */
+
+    private Genome random(Rng rng) {
+        int spells = 0;
+        for (int k = rng.nextInt(MAX_SPELLS + 1); Integer.bitCount(spells) < k; ) spells |= 1 << rng.nextInt(SPELLS.length);
+        return new Genome(rng.nextInt(weapons.size()), rng.nextInt(armors.size()),
+                rng.nextInt(BOOSTS.length), rng.nextInt(WEAKNESSES.length), spells);
+    }
+
+    private static Genome tournament(List<Genome> ranked, Rng rng) {
+        int best = rng.nextInt(ranked.size()); // ranked is sorted, so the lowest index of three wins
+        for (int i = 0; i < 2; i++) best = Math.min(best, rng.nextInt(ranked.size()));
+        return ranked.get(best);
+    }
+
+    /* Uniform crossover; the spell set is inherited whole, since spells work together */
+    private static Genome crossover(Genome a, Genome b, Rng rng) {
+        return new Genome(
+                rng.nextBoolean() ? a.weapon : b.weapon,
+                rng.nextBoolean() ? a.armor : b.armor,
+                rng.nextBoolean() ? a.boost : b.boost,
+                rng.nextBoolean() ? a.weakness : b.weakness,
+                rng.nextBoolean() ? a.spells : b.spells);
+    }
+
+    /* Re-rolls one gene; for spells, swaps one in or out */
+    private Genome mutate(Genome g, Rng rng) {
+        return switch (rng.nextInt(5)) {
+            case 0 -> new Genome(rng.nextInt(weapons.size()), g.armor, g.boost, g.weakness, g.spells);
+            case 1 -> new Genome(g.weapon, rng.nextInt(armors.size()), g.boost, g.weakness, g.spells);
+            case 2 -> new Genome(g.weapon, g.armor, rng.nextInt(BOOSTS.length), g.weakness, g.spells);
+            case 3 -> new Genome(g.weapon, g.armor, g.boost, rng.nextInt(WEAKNESSES.length), g.spells);
+            default -> {
+                int spells = g.spells ^ 1 << rng.nextInt(SPELLS.length);
+                while (Integer.bitCount(spells) > MAX_SPELLS) spells &= ~(1 << rng.nextInt(SPELLS.length));
+                yield new Genome(g.weapon, g.armor, g.boost, g.weakness, spells);
+            }
+        };
+    }
+
+    private PlayerBuild build(Genome g, int level) {
+        List<SpellType> spells = new ArrayList<>();
+        for (int k = 0; k < SPELLS.length; k++) {
+            if ((g.spells >> k & 1) != 0) spells.add(SPELLS[k]);
+        }
+        return new PlayerBuild(level, BOOSTS[g.boost], WEAKNESSES[g.weakness], weapons.get(g.weapon),
+                armors.get(g.armor), List.copyOf(spells), spells.isEmpty() ? AIRole.BERSERKER : AIRole.MAGE);
+    }
+
+    private static List<String> idsOf(Class<? extends Item> type) {
+        return ItemRegistry.getAllItems().stream()
+                .filter(type::isInstance)
+                .map(Item::getId)
+                .sorted()
+                .toList();
+    }
+}
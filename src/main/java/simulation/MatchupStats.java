@@ -0,0 +1,117 @@
+package simulation;
+
+import battle.actions.BattleResult;
+import lombok.Getter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Aggregated outcome of many duels between one build and one enemy preset.
+ * Not thread-safe: every fork/join leaf fills its own instance and they are merged on join.
+ */
+@Getter
+public final class MatchupStats {
+
+    public static final int BUCKET_WIDTH = 10;
+    public static final int BUCKETS = 64; // last bucket collects everything above
+
+    private long duels;
+    private long wins;
+    private long losses;
+    private long fled;
+    private long timeouts;
+    private long totalTurns;
+
+    private final long[] damageDealt = new long[BUCKETS];
+    private final long[] damageTaken = new long[BUCKETS];
+
+    void record(BattleResult result, int turns, int dealt, int taken) {
+        duels++;
+        totalTurns += turns;
+        if (result == null) {
+            timeouts++;
+        } else {
+            switch (result) {
+                case VICTORY -> wins++;
+                case DEFEAT -> losses++;
+                case FLED -> fled++;
+            }
+        }
+        damageDealt[bucket(dealt)]++;
+        damageTaken[bucket(taken)]++;
+    }
+
+    MatchupStats merge(MatchupStats other) {
+        duels += other.duels;
+        wins += other.wins;
+        losses += other.losses;
+        fled += other.fled;
+        timeouts += other.timeouts;
+        totalTurns += other.totalTurns;
+        for (int i = 0; i < BUCKETS; i++) {
+            damageDealt[i] += other.damageDealt[i];
+            damageTaken[i] += other.damageTaken[i];
+        }
+        return this;
+    }
+
+    /* ── Wire form, for ClusterSimulator's workers ─────────────── */
+
+    void write(DataOutput out) throws IOException {
+        out.writeLong(duels);
+        out.writeLong(wins);
+        out.writeLong(losses);
+        out.writeLong(fled);
+        out.writeLong(timeouts);
+        out.writeLong(totalTurns);
+        for (int i = 0; i < BUCKETS; i++) {
+            out.writeLong(damageDealt[i]);
+            out.writeLong(damageTaken[i]);
+        }
+    }
+
+    static MatchupStats read(DataInput in) throws IOException {
+        MatchupStats s = new MatchupStats();
+        s.duels = in.readLong();
+        s.wins = in.readLong();
+        s.losses = in.readLong();
+        s.fled = in.readLong();
+        s.timeouts = in.readLong();
+        s.totalTurns = in.readLong();
+        for (int i = 0; i < BUCKETS; i++) {
+            s.damageDealt[i] = in.readLong();
+            s.damageTaken[i] = in.readLong();
+        }
+        return s;
+    }
+
+    public double winRate() {
+        return duels == 0 ? 0 : wins / (double) duels;
+    }
+
+    public double averageTurns() {
+        return duels == 0 ? 0 : totalTurns / (double) duels;
+    }
+
+    /**
+     * Lower edge of the histogram bucket holding the given percentile (0..1).
+     */
+    public static int percentile(long[] histogram, double p) {
+        long total = 0;
+        for (long c : histogram) total += c;
+        long target = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target && seen > 0) return i * BUCKET_WIDTH;
+        }
+        return 0;
+    }
+
+    private static int bucket(int damage) {
+        if (damage <= 0) return 0;
+        return Math.min(damage / BUCKET_WIDTH, BUCKETS - 1);
+    }
+}
@@ -0,0 +1,78 @@
+package simulation;
+
+import characters.Enemy;
+import characters.EnemyFactory;
+import scenes.missions.MissionType;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The fights of one mission, in order, for headless runs. Each stage lists the fights the player
+ * can pick between (the mission's route choices); a mission is cleared by winning one fight of every
+ * stage. Levels are relative to the player's, as the mission scenes scale them.
+ * Keep in step with the {@code MissionN} scenes.
+ */
+public record MissionLineup(MissionType mission, List<List<Foe>> stages) {
+
+    /**
+     * One enemy preset at the player's level plus {@code levelOffset}.
+     */
+    public record Foe(String preset, int levelOffset) {
+
+        /** A name for reports, e.g. {@code "PestoMonkBoss+2"}. */
+        public String label() {
+            return levelOffset == 0 ? preset : preset + "+" + levelOffset;
+        }
+
+        public IntFunction<Enemy> factory() {
+            IntFunction<Enemy> base = EnemyFactory.PRESETS.get(preset);
+            if (base == null) throw new IllegalArgumentException("Unknown preset " + preset);
+            return levelOffset == 0 ? base : level -> base.apply(level + levelOffset);
+        }
+    }
+
+    public static MissionLineup of(MissionType mission) {
+        return switch (mission) {
+            case TUTORIAL -> new MissionLineup(mission, List.of(stage(foe("Bandit", 0))));
+            case MISSION_1 -> new MissionLineup(mission, List.of(
+                    stage(foe("ParmesaniGoon", 0)),
+                    stage(foe("RicottelliScout", 0), foe("ParmesaniCaptain", 1))));
+            case MISSION_2 -> new MissionLineup(mission, List.of(
+                    stage(foe("BasilCultist", 0), foe("RicottelliPriest", 1)),
+                    stage(foe("PestoMonkBoss", 2))));
+            case MISSION_3 -> new MissionLineup(mission, List.of(
+                    stage(foe("ParmesaniGoon", 0), foe("ParmesaniCaptain", 0)),
+                    stage(foe("CheeseGuardian", 0))));
+            case MISSION_4 -> new MissionLineup(mission, List.of(
+                    stage(foe("Bandit", 0), foe("RicottelliScout", 1)),
+                    stage(foe("RicottelliChef", 0))));
+            case MISSION_5 -> new MissionLineup(mission, List.of(
+                    stage(foe("LinguiniGoon", 0), foe("LinguiniKnight", 0)),
+                    stage(foe("LinguiniChampion", 0))));
+            case MISSION_6 -> new MissionLineup(mission, List.of(
+                    stage(foe("BoarHunter", 0)),
+                    stage(foe("PigGuardian", 0))));
+            case MISSION_7 -> new MissionLineup(mission, List.of(
+                    stage(foe("RicottelliChef", 0)),
+                    stage(foe("LinguiniKnight", 0))));
+            case MISSION_8 -> new MissionLineup(mission, List.of(
+                    stage(foe("RicottelliPatriarch", 0)),
+                    stage(foe("ParmesaniDon", 0)),
+                    stage(foe("LinguiniMatriarch", 0))));
+        };
+    }
+
+    /** Every distinct fight in the mission, in stage order. */
+    public List<Foe> foes() {
+        return stages.stream().flatMap(List::stream).distinct().toList();
+    }
+
+    private static List<Foe> stage(Foe... alternatives) {
+        return List.of(alternatives);
+    }
+
+    private static Foe foe(String preset, int levelOffset) {
+        return new Foe(preset, levelOffset);
+    }
+}
@@ -0,0 +1,48 @@
+package simulation;
+
+import characters.AIRole;
+import characters.Player;
+import characters.StatsType;
+import items.equip.Armor;
+import items.equip.Weapon;
+import spells.ElementalType;
+import spells.SpellType;
+import util.ItemRegistry;
+
+import java.util.List;
+
+/**
+ * A reproducible player loadout for simulated duels.
+ * {@code policy} picks the player's action each turn, since there is no one at the keyboard.
+ */
+public record PlayerBuild(int level,
+                          StatsType statBoost,
+                          ElementalType weakness,
+                          String weaponId,
+                          String armorId,
+                          List<SpellType> spells,
+                          AIRole policy) {
+
+    public Player create() {
+        Player p = new Player("Sim", statBoost, weakness);
+        while (p.getLevel() < level) {
+            p.collectExp(p.getExpToLevelUp() - p.getExp());
+        }
+        p.setWeapon((Weapon) ItemRegistry.getItemById(weaponId));
+        p.setArmor((Armor) ItemRegistry.getItemById(armorId));
+        for (int i = 0; i < spells.size() && i < p.getSpellsEquipped().length; i++) {
+            p.equipSpell(i, spells.get(i));
+        }
+        return p;
+    }
+
+    public String label() {
+        StringBuilder sb = new StringBuilder()
+                .append("L").append(level)
+                .append(' ').append(statBoost)
+                .append(' ').append(weaponId)
+                .append('/').append(armorId);
+        if (!spells.isEmpty()) sb.append(' ').append(spells);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package simulation;
+
+import characters.AIRole;
+import characters.StatsType;
+import spells.ElementalType;
+import spells.SpellType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One piece of a {@link ClusterSimulator} job: a subtree of a matchup's {@link DuelTask} split, named
+ * by the generator state at its root. Any worker playing it gets the same stats, so shards can be
+ * moved between workers freely.
+ *
+ * @param matchup index into the job's build x preset list
+ */
+record Shard(int id, int matchup, PlayerBuild build, String preset, int duels, long seed, long gamma) {
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeInt(matchup);
+        out.writeInt(build.level());
+        out.writeUTF(build.statBoost().name());
+        out.writeUTF(build.weakness().name());
+        out.writeUTF(build.weaponId());
+        out.writeUTF(build.armorId());
+        out.writeByte(build.spells().size());
+        for (SpellType s : build.spells()) out.writeUTF(s.name());
+        out.writeUTF(build.policy().name());
+        out.writeUTF(preset);
+        out.writeInt(duels);
+        out.writeLong(seed);
+        out.writeLong(gamma);
+    }
+
+    static Shard read(DataInput in) throws IOException {
+        int id = in.readInt();
+        int matchup = in.readInt();
+        int level = in.readInt();
+        StatsType boost = StatsType.valueOf(in.readUTF());
+        ElementalType weakness = ElementalType.valueOf(in.readUTF());
+        String weapon = in.readUTF();
+        String armor = in.readUTF();
+        List<SpellType> spells = new ArrayList<>();
+        for (int n = in.readByte(); n > 0; n--) spells.add(SpellType.valueOf(in.readUTF()));
+        AIRole policy = AIRole.valueOf(in.readUTF());
+        PlayerBuild build = new PlayerBuild(level, boost, weakness, weapon, armor, List.copyOf(spells), policy);
+        return new Shard(id, matchup, build, in.readUTF(), in.readInt(), in.readLong(), in.readLong());
+    }
+}
@@ -0,0 +1,62 @@
+package spells;
+
+import characters.Entity;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import util.DeveloperLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static util.DeveloperLogger.Category.REGISTRY;
+
+/**
+ * How hard each element hits each kind of target, read from {@code /items/affinities.json} at startup
+ * ({@code -Dtextadv.affinities} points at another file). A target's kind is its elemental weakness.
+ * <p>
+ * Each cell is a damage multiplier: above 1 is a weakness, below 1 a resistance, 0 an immunity and
+ * negative an absorb (the target heals instead). Missing cells are 1. The table is one flat
+ * array, so a lookup is a single indexed read.
+ */
+public final class ElementalAffinity {
+
+    private static final ElementalType[] TYPES = ElementalType.values();
+    private static final int N = TYPES.length;
+    /* [attack.ordinal() * N + target.ordinal()] */
+    private static final double[] TABLE = load();
+
+    public static double of(ElementalType attack, ElementalType target) {
+        return TABLE[attack.ordinal() * N + target.ordinal()];
+    }
+
+    /** Multiplier of {@code spell} against {@code target}. */
+    public static double of(Spell spell, Entity target) {
+        return TABLE[spell.getElement().ordinal() * N + target.getElementalWeakness().ordinal()];
+    }
+
+    private static double[] load() {
+        double[] table = new double[N * N];
+        Arrays.fill(table, 1.0);
+        String override = System.getProperty("textadv.affinities");
+        try (InputStream in = override != null
+                ? Files.newInputStream(Path.of(override))
+                : ElementalAffinity.class.getResourceAsStream("/items/affinities.json")) {
+            if (in == null) throw new IOException("affinities.json not found in resources");
+            Map<ElementalType, Map<ElementalType, Double>> rows = new ObjectMapper()
+                    .readValue(in, new TypeReference<Map<ElementalType, Map<ElementalType, Double>>>() { });
+            rows.forEach((attack, row) -> row.forEach((target, m) ->
+                    table[attack.ordinal() * N + target.ordinal()] = m));
+        } catch (IOException e) {
+            DeveloperLogger.error(REGISTRY, "❌ Failed to load elemental affinities: {}", e.getMessage());
+            throw new RuntimeException("Failed to load elemental affinities", e);
+        }
+        DeveloperLogger.info(REGISTRY, "✅ Loaded {}x{} elemental affinities.", N, N);
+        return table;
+    }
+
+    private ElementalAffinity() { /* utility */ }
+}
@@ -13,23 +13,37 @@ public class Spell {
     private final int damage;
     private final int cooldown;
 
+    /* Turn on the owner's clock at which the spell is usable again; 0 while ready.
+       The owner's cooldown wheel clears it, see Entity#startCooldown */
     @Setter
-    private int cooldownCounter = 0;
+    private int readyAt = 0;
 
     public boolean isReady() {
-        return cooldownCounter == 0;
+        return readyAt == 0;
     }
 
-    public void tickCooldown() {
-        if (cooldownCounter > 0) cooldownCounter--;
+    /**
+     * Turns until ready, as seen at {@code now} on the owner's clock.
+     */
+    public int cooldownLeft(int now) {
+        return readyAt == 0 ? 0 : Math.max(0, readyAt - now);
+    }
+
+    /**
+     * @return false for spells without a cooldown, which stay ready
+     */
+    public boolean startCooldown(int now) {
+        if (cooldown <= 0) return false;
+        readyAt = now + cooldown;
+        return true;
     }
 
-    public void setOnCooldown() {
-        cooldownCounter = cooldown;
+    public void markReady() {
+        readyAt = 0;
     }
 
     /**
-     * Returns a *fresh* copy with cooldownCounter reset to 0
+     * Returns a *fresh* copy, ready to cast
      */
     public static Spell copyOf(Spell src) {
         return new Spell(src.name, src.element, src.damage, src.cooldown);
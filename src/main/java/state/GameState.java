@@ -6,10 +6,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.Setter;
 import scenes.missions.MissionType;
+import util.DeveloperLogger;
 
 import java.io.File;
 import java.io.IOException;
 
+import static util.DeveloperLogger.Category.SAVE;
+
 @Setter
 @Getter
 public class GameState {
@@ -36,8 +39,10 @@ public class GameState {
 
             File saveFile = new File(saveDir, "save.json");
             new ObjectMapper().writeValue(saveFile, this);
+            DeveloperLogger.info(SAVE, "Saved to {}", saveFile);
             return true;
         } catch (IOException e) {
+            DeveloperLogger.error(SAVE, "Save failed: {}", e.getMessage());
             e.printStackTrace();
             return false;
         }
@@ -53,9 +58,11 @@ public class GameState {
                 GameState singleton = GameState.get();
                 singleton.setPlayer(loaded.getPlayer());
                 singleton.setMissionFlag(loaded.getMissionFlag());
+                DeveloperLogger.info(SAVE, "Loaded {}", saveFile);
                 return true;
             }
         } catch (IOException e) {
+            DeveloperLogger.error(SAVE, "Load failed: {}", e.getMessage());
             e.printStackTrace();
         }
         return false;
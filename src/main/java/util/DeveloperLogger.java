@@ -1,13 +1,145 @@
 package util;
 
-import scenes.ui.DevLogOverlay;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Leveled, per-category developer log.
+ * <p>
+ * Nothing is formatted unless the category is switched on at that level and a sink
+ * is attached ({@code DevLogOverlay.attach} in the game, stderr in the CLIs).
+ * Pass {@code {}} placeholders or a supplier instead of concatenating; for the
+ * fixed-arity overloads a disabled call costs a volatile read and a compare.
+ * Hot loops with primitive arguments can guard with {@link #isEnabled}.
+ * <p>
+ * Levels can be set at startup with {@code -Dtextadv.log=battle=debug,scene=off}
+ * or at runtime through {@link #setLevel} / {@link #configure}.
+ */
 public final class DeveloperLogger {
 
-    public static void log(String msg) {
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
 
-        if (DevLogOverlay.getLogBox() != null) {
-            DevLogOverlay.log(msg);
+    public enum Category {
+        BATTLE, SCENE, REGISTRY, SAVE;
+
+        private final String tag = "[" + name().toLowerCase(Locale.ROOT) + "] ";
+    }
+
+    private static volatile Consumer<String> sink;
+    /* Minimum level per Category.ordinal(); replaced wholesale, never mutated in place */
+    private static volatile int[] thresholds = new int[Category.values().length];
+
+    static {
+        String spec = System.getProperty("textadv.log");
+        if (spec != null) configure(spec);
+    }
+
+    /* ── Configuration ─────────────────────────────────────────── */
+
+    /** Where enabled lines go; {@code null} turns the whole log off. */
+    public static void setSink(Consumer<String> s) {
+        sink = s;
+    }
+
+    public static synchronized void setLevel(Category c, Level l) {
+        int[] next = thresholds.clone();
+        next[c.ordinal()] = l.ordinal();
+        thresholds = next;
+    }
+
+    public static synchronized void setLevel(Level l) {
+        int[] next = new int[thresholds.length];
+        Arrays.fill(next, l.ordinal());
+        thresholds = next;
+    }
+
+    /**
+     * Applies a spec such as {@code "info,battle=debug,scene=off"}: a bare level sets every category.
+     */
+    public static void configure(String spec) {
+        for (String part : spec.split(",")) {
+            String p = part.trim().toUpperCase(Locale.ROOT);
+            if (p.isEmpty()) continue;
+            int eq = p.indexOf('=');
+            if (eq < 0) {
+                setLevel(Level.valueOf(p));
+            } else {
+                setLevel(Category.valueOf(p.substring(0, eq).trim()), Level.valueOf(p.substring(eq + 1).trim()));
+            }
+        }
+    }
+
+    public static boolean isEnabled(Category c, Level l) {
+        return sink != null && l.ordinal() >= thresholds[c.ordinal()];
+    }
+
+    /* ── Logging ───────────────────────────────────────────────── */
+
+    public static void log(Category c, Level l, String msg) {
+        if (isEnabled(c, l)) emit(c, l, msg);
+    }
+
+    public static void log(Category c, Level l, Supplier<String> msg) {
+        if (isEnabled(c, l)) emit(c, l, msg.get());
+    }
+
+    public static void log(Category c, Level l, String fmt, Object a) {
+        if (isEnabled(c, l)) emit(c, l, format(fmt, a));
+    }
+
+    public static void log(Category c, Level l, String fmt, Object a, Object b) {
+        if (isEnabled(c, l)) emit(c, l, format(fmt, a, b));
+    }
+
+    public static void log(Category c, Level l, String fmt, Object a, Object b, Object d) {
+        if (isEnabled(c, l)) emit(c, l, format(fmt, a, b, d));
+    }
+
+    public static void log(Category c, Level l, String fmt, Object... args) {
+        if (isEnabled(c, l)) emit(c, l, format(fmt, args));
+    }
+
+    public static void debug(Category c, String msg) { log(c, Level.DEBUG, msg); }
+    public static void debug(Category c, Supplier<String> msg) { log(c, Level.DEBUG, msg); }
+    public static void debug(Category c, String fmt, Object a) { log(c, Level.DEBUG, fmt, a); }
+    public static void debug(Category c, String fmt, Object a, Object b) { log(c, Level.DEBUG, fmt, a, b); }
+    public static void debug(Category c, String fmt, Object a, Object b, Object d) { log(c, Level.DEBUG, fmt, a, b, d); }
+    public static void debug(Category c, String fmt, Object... args) { log(c, Level.DEBUG, fmt, args); }
+
+    public static void info(Category c, String msg) { log(c, Level.INFO, msg); }
+    public static void info(Category c, Supplier<String> msg) { log(c, Level.INFO, msg); }
+    public static void info(Category c, String fmt, Object a) { log(c, Level.INFO, fmt, a); }
+    public static void info(Category c, String fmt, Object a, Object b) { log(c, Level.INFO, fmt, a, b); }
+    public static void info(Category c, String fmt, Object a, Object b, Object d) { log(c, Level.INFO, fmt, a, b, d); }
+
+    public static void warn(Category c, String msg) { log(c, Level.WARN, msg); }
+    public static void warn(Category c, String fmt, Object a) { log(c, Level.WARN, fmt, a); }
+    public static void warn(Category c, String fmt, Object a, Object b) { log(c, Level.WARN, fmt, a, b); }
+
+    public static void error(Category c, String msg) { log(c, Level.ERROR, msg); }
+    public static void error(Category c, String fmt, Object a) { log(c, Level.ERROR, fmt, a); }
+    public static void error(Category c, String fmt, Object a, Object b) { log(c, Level.ERROR, fmt, a, b); }
+
+    private static void emit(Category c, Level l, String msg) {
+        Consumer<String> s = sink;
+        if (s == null) return;
+        s.accept(l.ordinal() >= Level.WARN.ordinal() ? c.tag + l + " " + msg : c.tag + msg);
+    }
+
+    /** Replaces each {@code {}} with the next argument; extra placeholders are left as is. */
+    static String format(String fmt, Object... args) {
+        StringBuilder sb = new StringBuilder(fmt.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int at = fmt.indexOf("{}", from);
+            if (at < 0) break;
+            sb.append(fmt, from, at).append(arg);
+            from = at + 2;
         }
+        return sb.append(fmt, from, fmt.length()).toString();
     }
+
+    private DeveloperLogger() { /* utility */ }
 }
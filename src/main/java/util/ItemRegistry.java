@@ -16,6 +16,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import static util.DeveloperLogger.Category.REGISTRY;
+
 public final class ItemRegistry {
 
     /* name  -> item (for UI) */
@@ -68,10 +70,10 @@ public final class ItemRegistry {
                 store.accept(item);
             }
 
-            DeveloperLogger.log("✅ Loaded " + ITEMS_BY_ID.size() + " items.");
+            DeveloperLogger.info(REGISTRY, "✅ Loaded {} items.", ITEMS_BY_ID.size());
 
         } catch (IOException e) {
-            DeveloperLogger.log("❌ Failed to load item JSON files: " + e.getMessage());
+            DeveloperLogger.error(REGISTRY, "❌ Failed to load item JSON files: {}", e.getMessage());
             throw new RuntimeException("Failed to load item JSON files", e);
         }
     }
@@ -10,6 +10,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import static util.DeveloperLogger.Category.REGISTRY;
+
 public final class PortraitRegistry {
     @Getter
     private static final Map<String, String[]> PORTRAITS = new HashMap<>();
@@ -20,7 +22,7 @@ public final class PortraitRegistry {
 
         try (InputStream stream = PortraitRegistry.class.getResourceAsStream("/images/portraits.json")) {
             if (stream == null) {
-                DeveloperLogger.log("❌ portraits.json not found in resources!");
+                DeveloperLogger.error(REGISTRY, "❌ portraits.json not found in resources!");
                 return;
             }
 
@@ -39,9 +41,9 @@ public final class PortraitRegistry {
                 }
             }
 
-            DeveloperLogger.log("✅ Loaded " + PORTRAITS.size() + " portraits.");
+            DeveloperLogger.info(REGISTRY, "✅ Loaded {} portraits.", PORTRAITS.size());
         } catch (IOException e) {
-            DeveloperLogger.log("❌ Failed to load portraits.json: " + e.getMessage());
+            DeveloperLogger.error(REGISTRY, "❌ Failed to load portraits.json: {}", e.getMessage());
             throw new RuntimeException("Failed to load portraits", e);
         }
     }
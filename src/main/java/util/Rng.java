@@ -0,0 +1,97 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seedable, splittable random source for battles and simulation workers.
+ * <p>
+ * Same SplitMix64 algorithm as {@link java.util.SplittableRandom}, but the whole state is one
+ * {@code long} we can read back, so a battle can be journaled or rewound.
+ * An instance is NOT thread-safe: hand each battle / worker its own, via {@link #split()}.
+ */
+public final class Rng implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicLong ENTROPY = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+    private long seed;
+    private final long gamma;
+
+    public Rng(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private Rng(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * For interactive play, where nobody needs to reproduce the run.
+     */
+    public static Rng fromEntropy() {
+        return new Rng(mix64(ENTROPY.getAndAdd(2 * GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Picks up exactly where a generator with this {@link #getSeed()} / {@link #getGamma()} left off.
+     */
+    public static Rng resume(long seed, long gamma) {
+        return new Rng(seed, gamma);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Rewinds to a state previously read with {@link #getSeed()}.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getGamma() {
+        return gamma;
+    }
+
+    /**
+     * A new, statistically independent generator. Deterministic given this one's state.
+     */
+    public Rng split() {
+        return new Rng(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    /**
+     * What {@link #nextBoolean()} returns once the state has been stepped to {@code seed}
+     * ({@code seed += gamma}), for callers that keep many generators' states in a column.
+     */
+    public static boolean booleanAt(long seed) {
+        return mix64(seed) < 0;
+    }
+
+    /* ── SplitMix64 mixers (as in java.util.SplittableRandom) ─── */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
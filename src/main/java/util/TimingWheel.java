@@ -0,0 +1,91 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel over a turn counter: {@link #expire} only looks at the one bucket
+ * for that turn, so an idle turn costs nothing however many timers are pending.
+ * <p>
+ * Timers further out than {@link #SLOTS} turns share a bucket with nearer ones and are
+ * skipped until their own turn comes round. Buckets are parallel arrays created on first
+ * use that only grow, so scheduling and expiring allocate nothing once warm. Not thread-safe.
+ */
+public final class TimingWheel<T> {
+
+    public static final int SLOTS = 64;
+    private static final int MASK = SLOTS - 1;
+
+    private final Object[][] items = new Object[SLOTS][];
+    private final int[][] due = new int[SLOTS][];
+    private final int[] sizes = new int[SLOTS];
+    private int count;
+
+    public void schedule(T item, int turn) {
+        int b = turn & MASK;
+        int n = sizes[b];
+        if (items[b] == null) {
+            items[b] = new Object[2];
+            due[b] = new int[2];
+        } else if (n == items[b].length) {
+            items[b] = Arrays.copyOf(items[b], n * 2);
+            due[b] = Arrays.copyOf(due[b], n * 2);
+        }
+        items[b][n] = item;
+        due[b][n] = turn;
+        sizes[b] = n + 1;
+        count++;
+    }
+
+    /**
+     * Removes every timer due at {@code turn} and hands it to {@code action}, in no particular order.
+     * The action must not schedule into this wheel.
+     *
+     * @return how many fired
+     */
+    @SuppressWarnings("unchecked")
+    public int expire(int turn, Consumer<? super T> action) {
+        int b = turn & MASK;
+        if (sizes[b] == 0) return 0;
+        Object[] it = items[b];
+        int[] d = due[b];
+        int n = sizes[b];
+        int fired = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            if (d[i] != turn) continue;
+            T item = (T) it[i];
+            n--;
+            it[i] = it[n];
+            d[i] = d[n];
+            it[n] = null;
+            action.accept(item);
+            fired++;
+        }
+        sizes[b] = n;
+        count -= fired;
+        return fired;
+    }
+
+    /** Visits the timers due at {@code turn} without removing them. */
+    @SuppressWarnings("unchecked")
+    public void forEachDue(int turn, Consumer<? super T> action) {
+        int b = turn & MASK;
+        for (int i = 0; i < sizes[b]; i++) {
+            if (due[b][i] == turn) action.accept((T) items[b][i]);
+        }
+    }
+
+    public void clear() {
+        if (count == 0) return;
+        for (int b = 0; b < SLOTS; b++) {
+            if (sizes[b] == 0) continue;
+            Arrays.fill(items[b], 0, sizes[b], null);
+            sizes[b] = 0;
+        }
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+}
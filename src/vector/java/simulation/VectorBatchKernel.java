@@ -0,0 +1,230 @@
+package simulation;
+
+import battle.actions.ActionCode;
+import characters.AIRole;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static characters.AIRole.LOW_HP;
+import static simulation.BatchTables.MASKS;
+import static simulation.BatchTables.SLOTS;
+
+/**
+ * {@link BatchKernel} on the incubating Vector API.
+ * <p>
+ * A turn is a row of passes, each one short loop over the whole block: boost states, both
+ * decisions, turn order and coin flips, the two halves of the turn, results. Keeping every loop
+ * body small lets C2 hold the vectors in registers instead of boxing them between calls.
+ * A lane where anyone drinks or boosts this turn sits the passes out and is played through
+ * {@link BatchDuels#playLane} afterwards, as are the tail lanes; that is a few turns per duel at most.
+ * Only built with {@code mvn -Pvector}; loaded by {@link BatchKernel#best()}.
+ */
+final class VectorBatchKernel implements BatchKernel {
+
+    private static final VectorSpecies<Integer> S = IntVector.SPECIES_PREFERRED;
+    /* The generators get their own pass, on ints of the long species' lane count */
+    private static final VectorSpecies<Long> LS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> IS = VectorSpecies.of(int.class,
+            VectorShape.forBitSize(LS.length() * Integer.SIZE));
+    private static final int ITEM = ActionCode.item(0);
+
+    /* Per-lane working columns, one set per thread */
+    private static final class Columns {
+        int[] own = new int[0], foe = new int[0];   // boost masks
+        int[] idx0 = new int[0], idx1 = new int[0]; // damage table index, player / enemy acting
+        int[] p = new int[0], e = new int[0];       // decisions
+        int[] go = new int[0];                      // 1: running and left to the passes
+        int[] first = new int[0];                   // 1: the player acts first
+        int[] tie = new int[0];
+
+        Columns fit(int n) {
+            if (own.length < n) {
+                own = new int[n]; foe = new int[n]; idx0 = new int[n]; idx1 = new int[n];
+                p = new int[n]; e = new int[n]; go = new int[n]; first = new int[n]; tie = new int[n];
+            }
+            return this;
+        }
+    }
+
+    private final ThreadLocal<Columns> columns = ThreadLocal.withInitial(Columns::new);
+
+    @Override
+    public String describe() {
+        return "vector, " + S.length() + " lanes";
+    }
+
+    @Override
+    public void playTurn(BatchDuels d) {
+        Columns w = columns.get().fit(d.capacity);
+        BatchTables t = d.tables;
+        int c = d.turn + 1;
+        int bound = S.loopBound(d.lanes);
+
+        boosts(d, w, c, bound);
+        decide(d, t, 0, c, w.p, w.foe, bound);
+        decide(d, t, 1, c, w.e, w.own, bound);
+        triage(d, w, bound);
+        order(t, w, bound);
+        flip(d, w, bound);
+
+        // First movers, then whoever is still standing
+        act(d, t, 0, c, w.p, w.idx0, w.foe, w, 1, false, bound);
+        act(d, t, 1, c, w.e, w.idx1, w.own, w, 0, false, bound);
+        act(d, t, 1, c, w.e, w.idx1, w.own, w, 1, true, bound);
+        act(d, t, 0, c, w.p, w.idx0, w.foe, w, 0, true, bound);
+        settle(d, w, c, bound);
+
+        for (int j = 0; j < d.lanes; j++) {
+            if (d.result[j] == BatchDuels.RUNNING && (j >= bound || w.go[j] == 0)) d.playLane(j);
+        }
+    }
+
+    /* ── Passes ────────────────────────────────────────────────── */
+
+    /** {@link BatchDuels#boosts} for both sides, plus the damage table indexes they give. */
+    private static void boosts(BatchDuels d, Columns w, int c, int bound) {
+        for (int i = 0; i < bound; i += S.length()) {
+            IntVector own = IntVector.zero(S), foe = IntVector.zero(S);
+            for (int k = 0; k < SLOTS; k++) {
+                own = own.blend(own.or(1 << k), IntVector.fromArray(S, d.boostUntil[0][k], i).compare(VectorOperators.GE, c));
+                foe = foe.blend(foe.or(1 << k), IntVector.fromArray(S, d.boostUntil[1][k], i).compare(VectorOperators.GE, c));
+            }
+            own.intoArray(w.own, i);
+            foe.intoArray(w.foe, i);
+            own.mul(MASKS).add(foe).intoArray(w.idx0, i);
+            foe.mul(MASKS).add(own).intoArray(w.idx1, i);
+        }
+    }
+
+    /** {@link BatchDuels#decide} for side {@code s}; a lane that would use an item reads {@link #ITEM}. */
+    private static void decide(BatchDuels d, BatchTables t, int s, int clock, int[] out, int[] foeMask, int bound) {
+        AIRole role = t.role[s];
+        if (role == AIRole.STRATEGIST) throw new IllegalStateException("Not batchable: " + role);
+        int o = 1 - s;
+        int[] order = t.spellOrder[s];
+        boolean casts = role == AIRole.MAGE || role == AIRole.MAGE_BOOSTER || role == AIRole.MAGE_HEALER;
+        boolean drinks = role == AIRole.MAGE_HEALER || role == AIRole.FIGHTER_HEALER;
+        boolean fighter = role == AIRole.FIGHTER_HEALER || role == AIRole.FIGHTER_BOOSTER;
+        int bits = drinks ? t.potions[s]
+                : role == AIRole.MAGE_BOOSTER || role == AIRole.FIGHTER_BOOSTER ? t.enhancers[s] : 0;
+
+        for (int i = 0; i < bound; i += S.length()) {
+            IntVector code = IntVector.broadcast(S, ActionCode.ATTACK);
+            if (casts) {
+                for (int k = SLOTS - 1; k >= 0; k--) { // back to front, so the most preferred ready slot wins
+                    int slot = order[k];
+                    if (slot < 0) continue;
+                    code = code.blend(ActionCode.spell(slot),
+                            IntVector.fromArray(S, d.readyAt[s][slot], i).compare(VectorOperators.LE, clock));
+                }
+            }
+            if (bits != 0) {
+                VectorMask<Integer> use = IntVector.fromArray(S, d.items[s], i).and(bits).compare(VectorOperators.NE, 0);
+                if (drinks) use = use.and(IntVector.fromArray(S, d.hp[s], i).compare(VectorOperators.LT, LOW_HP));
+                if (fighter) { // a foe below half its MAX_HP (> 0) just gets hit
+                    IntVector half = IntVector.fromArray(S, t.maxHp[o], 0, foeMask, i).lanewise(VectorOperators.ASHR, 1);
+                    use = use.andNot(IntVector.fromArray(S, d.hp[o], i).compare(VectorOperators.LT, half));
+                }
+                code = code.blend(ITEM, use);
+            }
+            code.intoArray(out, i);
+        }
+    }
+
+    private static void triage(BatchDuels d, Columns w, int bound) {
+        for (int i = 0; i < bound; i += S.length()) {
+            VectorMask<Integer> run = IntVector.fromArray(S, d.result, i).eq(BatchDuels.RUNNING);
+            VectorMask<Integer> item = IntVector.fromArray(S, w.p, i).compare(VectorOperators.GE, ITEM)
+                    .or(IntVector.fromArray(S, w.e, i).compare(VectorOperators.GE, ITEM));
+            IntVector.zero(S).blend(1, run.andNot(item)).intoArray(w.go, i);
+        }
+    }
+
+    private static void order(BatchTables t, Columns w, int bound) {
+        for (int i = 0; i < bound; i += S.length()) {
+            IntVector sp = IntVector.fromArray(S, t.speed[0], 0, w.own, i);
+            IntVector se = IntVector.fromArray(S, t.speed[1], 0, w.foe, i);
+            VectorMask<Integer> go = IntVector.fromArray(S, w.go, i).eq(1);
+            IntVector.zero(S).blend(1, sp.compare(VectorOperators.GT, se)).intoArray(w.first, i);
+            IntVector.zero(S).blend(1, sp.eq(se).and(go)).intoArray(w.tie, i);
+        }
+    }
+
+    /** {@link BatchDuels#flip} for the tied lanes; the others' generators don't move. */
+    private static void flip(BatchDuels d, Columns w, int bound) {
+        for (int i = 0; i < bound; i += LS.length()) {
+            VectorMask<Integer> tie = IntVector.fromArray(IS, w.tie, i).eq(1);
+            if (!tie.anyTrue()) continue;
+            VectorMask<Long> m = tie.cast(LS);
+            LongVector z = LongVector.fromArray(LS, d.seed, i).add(LongVector.fromArray(LS, d.gamma, i), m);
+            z.intoArray(d.seed, i);
+            // Rng.mix64; the coin is its sign
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30)).mul(0xbf58476d1ce4e5b9L);
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(0x94d049bb133111ebL);
+            z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+            VectorMask<Integer> heads = z.compare(VectorOperators.LT, 0L).and(m).cast(IS);
+            IntVector.fromArray(IS, w.first, i).blend(1, heads).intoArray(w.first, i);
+        }
+    }
+
+    /**
+     * {@link BatchDuels#perform} of an attack or spell by side {@code s}, in the lanes whose
+     * {@code first} reads {@code when}; in the second half only where both sides still stand.
+     */
+    private static void act(BatchDuels d, BatchTables t, int s, int c, int[] codes, int[] idx, int[] targetMask,
+                            Columns w, int when, boolean secondHalf, int bound) {
+        int o = 1 - s;
+        int[] attack = t.attack[s];
+        int[] cooldown = t.cooldown[s];
+        int[] targetHp = d.hp[o];
+
+        for (int i = 0; i < bound; i += S.length()) {
+            VectorMask<Integer> acting = IntVector.fromArray(S, w.go, i).eq(1)
+                    .and(IntVector.fromArray(S, w.first, i).eq(when));
+            if (secondHalf) {
+                acting = acting.and(IntVector.fromArray(S, d.hp[0], i).compare(VectorOperators.GT, 0))
+                        .and(IntVector.fromArray(S, d.hp[1], i).compare(VectorOperators.GT, 0));
+            }
+            if (!acting.anyTrue()) continue;
+
+            IntVector code = IntVector.fromArray(S, codes, i);
+            IntVector hp = IntVector.fromArray(S, targetHp, i);
+            IntVector dmg = IntVector.fromArray(S, attack, 0, idx, i);
+            for (int k = 0; k < SLOTS; k++) {
+                VectorMask<Integer> casting = acting.and(code.eq(ActionCode.spell(k)));
+                if (!casting.anyTrue()) continue;
+                IntVector readyAt = IntVector.fromArray(S, d.readyAt[s][k], i);
+                VectorMask<Integer> cooling = casting.and(readyAt.compare(VectorOperators.GT, c));
+                casting = casting.andNot(cooling);
+
+                // castSpell's cap: an absorbed spell heals no further than the target's MAX_HP
+                IntVector hit = IntVector.fromArray(S, t.spell[s][k], 0, idx, i);
+                IntVector room = IntVector.fromArray(S, t.maxHp[o], 0, targetMask, i).sub(hp).max(0);
+                hit = hit.max(room.neg());
+                dmg = dmg.blend(hit, casting).blend(0, cooling);
+                if (cooldown[k] > 0) readyAt.blend(c + cooldown[k], casting).intoArray(d.readyAt[s][k], i);
+            }
+            hp.sub(dmg, acting).intoArray(targetHp, i);
+        }
+    }
+
+    private static void settle(BatchDuels d, Columns w, int c, int bound) {
+        for (int i = 0; i < bound; i += S.length()) {
+            VectorMask<Integer> go = IntVector.fromArray(S, w.go, i).eq(1);
+            VectorMask<Integer> lost = go.and(IntVector.fromArray(S, d.hp[0], i).compare(VectorOperators.LE, 0));
+            VectorMask<Integer> won = go.and(IntVector.fromArray(S, d.hp[1], i).compare(VectorOperators.LE, 0)).andNot(lost);
+            VectorMask<Integer> done = lost.or(won);
+            if (!done.anyTrue()) continue;
+            IntVector.fromArray(S, d.result, i)
+                    .blend(BatchDuels.DEFEAT, lost)
+                    .blend(BatchDuels.VICTORY, won)
+                    .intoArray(d.result, i);
+            IntVector.fromArray(S, d.turns, i).blend(c, done).intoArray(d.turns, i);
+            d.running -= done.trueCount();
+        }
+    }
+}